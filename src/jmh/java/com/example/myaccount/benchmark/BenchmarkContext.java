@@ -0,0 +1,28 @@
+package com.example.myaccount.benchmark;
+
+import com.example.myaccount.MyAccountApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트
+ * 웹 서버 없이 H2 와 LocalRedisConfig 의 embedded redis 로 띄운다.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(MyAccountApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .properties(properties)
+                .run();
+    }
+}
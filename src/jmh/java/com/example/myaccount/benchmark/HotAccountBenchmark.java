@@ -0,0 +1,99 @@
+package com.example.myaccount.benchmark;
+
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.service.AccountCommandExecutor;
+import com.example.myaccount.service.LockCircuitBreaker;
+import com.example.myaccount.service.LockService;
+import com.example.myaccount.service.RedissonLockBackend;
+import com.example.myaccount.type.LockFailurePolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 하나의 계좌에 요청이 몰릴 때 Redisson 락 경로와 단일 스레드 큐 경로의 처리량을 비교한다.
+ * workTokens 는 락 안에서 수행하는 잔액 변경 비용을 흉내낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class HotAccountBenchmark {
+    private static final String HOT_ACCOUNT = "1000000000";
+    private static final int REDIS_PORT = 6390;
+
+    @Param({"0", "10000"})
+    private long workTokens;
+
+    private RedisServer redisServer;
+    private RedissonClient redissonClient;
+    private LockService lockService;
+    private AccountCommandExecutor accountCommandExecutor;
+    private long balance;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+        public long lockTimeouts;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redisServer = new RedisServer(REDIS_PORT);
+        redisServer.start();
+
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + REDIS_PORT);
+        redissonClient = Redisson.create(config);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        lockService = new LockService(new RedissonLockBackend(redissonClient),
+                new LockCircuitBreaker(LockFailurePolicy.FAIL_CLOSED, null,
+                        5, 5_000, meterRegistry),
+                meterRegistry, 64);
+        accountCommandExecutor = new AccountCommandExecutor(16, 100_000, 5_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        accountCommandExecutor.shutdown();
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @Benchmark
+    public long redissonLock(Failures failures) {
+        try {
+            lockService.lock(HOT_ACCOUNT);
+        } catch (AccountException e) {
+            failures.lockTimeouts++;
+            return -1;
+        }
+        try {
+            return debit();
+        } finally {
+            lockService.unLock(HOT_ACCOUNT);
+        }
+    }
+
+    @Benchmark
+    public long singleWriter(Failures failures) throws Throwable {
+        try {
+            return accountCommandExecutor.execute(HOT_ACCOUNT, this::debit);
+        } catch (AccountException e) {
+            failures.lockTimeouts++;
+            return -1;
+        }
+    }
+
+    private long debit() {
+        Blackhole.consumeCPU(workTokens);
+        return --balance;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.myaccount.benchmark;
+
+import com.example.myaccount.service.LockService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LockService.lock/unLock 한 쌍의 비용을 잠금 방식별로 측정한다.
+ * 스레드마다 다른 계좌를 사용하므로 경합 없는 지연 시간이다.
+ * SHARDED 는 같은 호스트의 임베디드 Redis 3 개에 나누므로 지연 시간만 비교할 수 있고,
+ * 노드 수에 따른 처리량은 실제 노드에서 측정해야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LockServiceBenchmark {
+    private static final AtomicLong NEXT_ACCOUNT = new AtomicLong(1_000_000_000L);
+
+    @Param({"REDIS", "LOCAL", "HYBRID", "SHARDED"})
+    private String lockMode;
+
+    private ConfigurableApplicationContext context;
+    private LockService lockService;
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {
+        private final String accountNumber =
+                String.valueOf(NEXT_ACCOUNT.getAndIncrement());
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("account.lock.mode=" + lockMode);
+        lockService = context.getBean(LockService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void lockAndUnlock(ThreadAccount account) {
+        lockService.lock(account.accountNumber);
+        lockService.unLock(account.accountNumber);
+    }
+}
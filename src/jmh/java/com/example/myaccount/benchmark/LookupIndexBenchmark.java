@@ -0,0 +1,114 @@
+package com.example.myaccount.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 원장 1000만 건에서 요청마다 실행되는 조회의 지연 시간을 인덱스 유무로 비교한다.
+ * findByTransactionId, findByAccountNumber, countByAccountUser 와 같은 SQL 을 실행하며,
+ * 인덱스 이름과 컬럼은 엔티티의 @Table 설정과 같다.
+ * H2 는 FK 에 인덱스를 자동으로 만들기 때문에 FK 없이 테이블을 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class LookupIndexBenchmark {
+    private static final int ACCOUNTS = 100_000;
+    private static final int USERS = 10_000;
+    // 시간순 id 처럼 간격을 두고 증가하는 거래 id (노드, 순번 22비트)
+    private static final long ID_STEP = 1L << 22;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    @Param({"10000000"})
+    private int ledgerRows;
+
+    private Connection connection;
+    private PreparedStatement findByTransactionId;
+    private PreparedStatement findByAccountNumber;
+    private PreparedStatement countByAccountUser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:lookup;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table account (id bigint primary key, "
+                    + "account_number varchar(255), account_user_id bigint, "
+                    + "balance bigint)");
+            statement.execute("create table transaction (id bigint primary key, "
+                    + "account_id bigint, transaction_id bigint, "
+                    + "amount bigint, transaction_at timestamp)");
+
+            statement.execute("insert into account "
+                    + "select x, cast(1000000000 + x as varchar), mod(x, " + USERS + "), 1000 "
+                    + "from system_range(1, " + ACCOUNTS + ")");
+            statement.execute("insert into transaction "
+                    + "select x, mod(x, " + ACCOUNTS + ") + 1, "
+                    + "x * " + ID_STEP + ", 100, current_timestamp "
+                    + "from system_range(1, " + ledgerRows + ")");
+
+            if (indexed) {
+                statement.execute("create unique index uk_account_account_number "
+                        + "on account(account_number)");
+                statement.execute("create index idx_account_account_user "
+                        + "on account(account_user_id)");
+                statement.execute("create unique index uk_transaction_transaction_id "
+                        + "on transaction(transaction_id)");
+            }
+        }
+
+        findByTransactionId = connection.prepareStatement(
+                "select * from transaction where transaction_id = ?");
+        findByAccountNumber = connection.prepareStatement(
+                "select * from account where account_number = ?");
+        countByAccountUser = connection.prepareStatement(
+                "select count(*) from account where account_user_id = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long findByTransactionId() throws SQLException {
+        long id = ThreadLocalRandom.current().nextLong(1, ledgerRows + 1L);
+        findByTransactionId.setLong(1, id * ID_STEP);
+        return firstLong(findByTransactionId);
+    }
+
+    @Benchmark
+    public long findByAccountNumber() throws SQLException {
+        long id = ThreadLocalRandom.current().nextLong(1, ACCOUNTS + 1L);
+        findByAccountNumber.setString(1, String.valueOf(1_000_000_000L + id));
+        return firstLong(findByAccountNumber);
+    }
+
+    @Benchmark
+    public long countByAccountUser() throws SQLException {
+        countByAccountUser.setLong(1, ThreadLocalRandom.current().nextLong(USERS));
+        return firstLong(countByAccountUser);
+    }
+
+    private static long firstLong(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : -1;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.myaccount.benchmark;
+
+import com.example.myaccount.domain.Account;
+import com.example.myaccount.domain.AccountStatus;
+import com.example.myaccount.domain.AccountUser;
+import com.example.myaccount.domain.Transaction;
+import com.example.myaccount.domain.TransactionId;
+import com.example.myaccount.dto.TransactionDto;
+import com.example.myaccount.service.SnowflakeTransactionIdGenerator;
+import com.example.myaccount.service.TransactionIdGenerator;
+import com.example.myaccount.type.TransactionResultType;
+import com.example.myaccount.type.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 한 건마다 실행되는 엔티티 -> DTO 변환과 거래 id 생성 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionMappingBenchmark {
+    private Transaction transaction;
+    private final TransactionIdGenerator transactionIdGenerator =
+            new SnowflakeTransactionIdGenerator(0);
+
+    @Setup
+    public void setUp() {
+        Account account = Account.builder()
+                .id(1L)
+                .accountUser(AccountUser.builder().id(1L).build())
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .build();
+        transaction = Transaction.builder()
+                .account(account)
+                .transactionType(TransactionType.USE)
+                .transactionResultType(TransactionResultType.S)
+                .amount(100L)
+                .balanceSnapShot(900L)
+                .transactionId(0x1a2b3c4d5e6f7081L)
+                .transactionAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public TransactionDto fromEntity() {
+        return TransactionDto.fromEntity(transaction);
+    }
+
+    // 기존 방식: SecureRandom + 문자열 여러 개 생성
+    @Benchmark
+    @Threads(8)
+    public String uuidTransactionId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long snowflakeTransactionId() {
+        return transactionIdGenerator.nextId();
+    }
+
+    @Benchmark
+    public String formatTransactionId() {
+        return TransactionId.format(transaction.getTransactionId());
+    }
+}
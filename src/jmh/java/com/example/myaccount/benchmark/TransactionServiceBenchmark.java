@@ -0,0 +1,57 @@
+package com.example.myaccount.benchmark;
+
+import com.example.myaccount.dto.TransactionDto;
+import com.example.myaccount.service.AccountService;
+import com.example.myaccount.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2 위에서 TransactionService 의 잔액 사용/취소 비용을 측정한다. (락 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionServiceBenchmark {
+    private static final long USER_ID = 1L;     // data.sql 의 사용자
+    private static final long AMOUNT = 10L;
+
+    // WRITE_BEHIND 는 사용 거래가 저장되기 전에 취소해 TRANSACTION_NOT_FOUND 가 나므로 제외한다.
+    // GROUP_COMMIT 은 응답 전에 원장 저장을 기다리므로 바로 취소할 수 있다.
+    @Param({"SYNC", "GROUP_COMMIT"})
+    private String ledgerWriteMode;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private String accountNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "account.ledger.write-mode=" + ledgerWriteMode);
+        transactionService = context.getBean(TransactionService.class);
+        accountNumber = context.getBean(AccountService.class)
+                .createAccount(USER_ID, 1_000_000_000_000L)
+                .getAccountNumber();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionDto useBalance() {
+        return transactionService.useBalance(USER_ID, accountNumber, AMOUNT);
+    }
+
+    @Benchmark
+    public TransactionDto useAndCancelBalance() {
+        TransactionDto used =
+                transactionService.useBalance(USER_ID, accountNumber, AMOUNT);
+        return transactionService.cancelBalance(used.getTransactionId(),
+                accountNumber, AMOUNT);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.myaccount.aop;
+
+/**
+ * 멱등 키를 나누는 범위. 다른 사용자가 같은 키를 보내도 서로의 응답을 받지 않는다.
+ */
+public interface IdempotencyScopeInterface {
+    String getIdempotencyScope();
+}
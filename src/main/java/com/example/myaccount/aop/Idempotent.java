@@ -0,0 +1,13 @@
+package com.example.myaccount.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * Idempotency-Key 헤더가 있으면 같은 키의 재요청에 저장해 둔 응답을 돌려준다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Idempotent {
+}
@@ -0,0 +1,31 @@
+package com.example.myaccount.config;
+
+import com.example.myaccount.repository.AccountRepository;
+import com.example.myaccount.service.AccountNumberAllocator;
+import com.example.myaccount.service.RedisAccountNumberAllocator;
+import com.example.myaccount.service.SequenceAccountNumberAllocator;
+import com.example.myaccount.type.AccountNumberAllocatorType;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AccountNumberAllocatorConfig {
+    @Value("${account.number.allocator:SEQUENCE}")
+    private AccountNumberAllocatorType allocatorType;
+
+    @Value("${account.number.block-size:100}")
+    private long blockSize;
+
+    @Bean
+    public AccountNumberAllocator accountNumberAllocator(
+            AccountRepository accountRepository,
+            RedissonClient redissonClient) {
+        if (allocatorType == AccountNumberAllocatorType.REDIS) {
+            return new RedisAccountNumberAllocator(redissonClient, blockSize);
+        }
+
+        return new SequenceAccountNumberAllocator(accountRepository, blockSize);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.myaccount.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.cache.caffeine.spec 설정으로 캐시를 만든다.
+ * actuator 가 cache.gets{result=hit|miss} 메트릭을 등록한다.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,14 @@
+package com.example.myaccount.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * 락 테스트용 지연 주입. latency 프로필에서만 활성화된다.
+ */
+@Configuration
+@Profile("latency")
+@EnableConfigurationProperties(LatencyInjectionProperties.class)
+public class LatencyInjectionConfig {
+}
@@ -0,0 +1,28 @@
+package com.example.myaccount.config;
+
+import com.example.myaccount.type.LatencyLayer;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * latency 프로필에서 주입할 지연 규칙
+ * account.latency.rules[n].endpoint / layer / delay-ms
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.latency")
+public class LatencyInjectionProperties {
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private String endpoint = "/**";    // 요청 URI ant 패턴
+        private LatencyLayer layer;
+        private long delayMs;
+    }
+}
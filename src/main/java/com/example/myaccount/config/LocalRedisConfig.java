@@ -1,5 +1,6 @@
 package com.example.myaccount.config;
 
+import com.example.myaccount.type.LockMode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
@@ -7,6 +8,9 @@ import redis.embedded.RedisServer;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @Slf4j
@@ -14,20 +18,40 @@ public class LocalRedisConfig {
     @Value("${spring.redis.port}")
     private int  redisPort;
 
-    private RedisServer redisServer;
+    @Value("${account.lock.mode:REDIS}")
+    private LockMode lockMode;
+
+    // SHARDED 모드에서는 로컬 주소의 락 샤드도 띄운다.
+    @Value("${account.lock.shards:}")
+    private List<String> lockShards;
+
+    private final List<RedisServer> redisServers = new ArrayList<>();
 
     @PostConstruct
     public void startRedis() {
-        redisServer = new RedisServer(redisPort);
-        redisServer.start();
+        startRedis(redisPort);
         log.debug("embeded redis start");
+
+        if (lockMode == LockMode.SHARDED) {
+            for (String address : lockShards) {
+                URI uri = URI.create(address.trim());
+                if ("127.0.0.1".equals(uri.getHost()) || "localhost".equals(uri.getHost())) {
+                    startRedis(uri.getPort());
+                    log.debug("embeded redis lock shard start. port : {}", uri.getPort());
+                }
+            }
+        }
+    }
+
+    private void startRedis(int port) {
+        RedisServer redisServer = new RedisServer(port);
+        redisServer.start();
+        redisServers.add(redisServer);
     }
 
     @PreDestroy
     public void stopRedis() {
-        if (redisServer != null) {
-            redisServer.stop();
-        }
+        redisServers.forEach(RedisServer::stop);
     }
 
 
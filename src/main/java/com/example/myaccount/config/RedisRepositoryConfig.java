@@ -1,5 +1,15 @@
 package com.example.myaccount.config;
 
+import com.example.myaccount.service.ConsistentHashLockShardRouter;
+import com.example.myaccount.service.HybridLockBackend;
+import com.example.myaccount.service.LocalStripedLockBackend;
+import com.example.myaccount.service.LockBackend;
+import com.example.myaccount.service.LockCircuitBreaker;
+import com.example.myaccount.service.RedissonLockBackend;
+import com.example.myaccount.service.ShardedLockBackend;
+import com.example.myaccount.type.LockFailurePolicy;
+import com.example.myaccount.type.LockMode;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
@@ -7,6 +17,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
 public class RedisRepositoryConfig {
     @Value("${spring.redis.host}")
@@ -15,11 +30,83 @@ public class RedisRepositoryConfig {
     @Value("${spring.redis.port}")
     private int redisPort;
 
+    @Value("${account.lock.mode:REDIS}")
+    private LockMode lockMode;
+
+    @Value("${account.lock.stripes:1024}")
+    private int lockStripes;
+
+    @Value("${account.lock.circuit.failure-policy:FAIL_CLOSED}")
+    private LockFailurePolicy lockFailurePolicy;
+
+    @Value("${account.lock.circuit.failure-threshold:5}")
+    private int lockFailureThreshold;
+
+    @Value("${account.lock.circuit.open-duration-ms:5000}")
+    private long lockOpenDurationMs;
+
+    // SHARDED 모드의 락 전용 Redis 노드 주소 (쉼표로 구분)
+    @Value("${account.lock.shards:}")
+    private List<String> lockShards;
+
+    @Value("${account.lock.shard-virtual-nodes:160}")
+    private int lockShardVirtualNodes;
+
+    // WATCHDOG 모드에서 락을 잡은 노드가 죽었을 때 락이 풀리기까지의 시간
+    @Value("${account.lock.watchdog-timeout-ms:10000}")
+    private long lockWatchdogTimeoutMs;
+
     @Bean
     public RedissonClient redissonClient() {
+        return createRedissonClient("redis://" + redisHost + ":" + redisPort);
+    }
+
+    private RedissonClient createRedissonClient(String address) {
         Config config = new Config();
-        config.useSingleServer().setAddress("redis://" + redisHost + ":" + redisPort);
+        config.useSingleServer().setAddress(address);
+        config.setLockWatchdogTimeout(lockWatchdogTimeoutMs);
 
         return Redisson.create(config);
     }
+
+    @Bean
+    public LockCircuitBreaker lockCircuitBreaker(MeterRegistry meterRegistry) {
+        // 대체 락은 락 서버가 복구될 때까지 노드 안에서만 계좌를 직렬화한다.
+        return new LockCircuitBreaker(lockFailurePolicy,
+                new LocalStripedLockBackend(lockStripes),
+                lockFailureThreshold, lockOpenDurationMs, meterRegistry);
+    }
+
+    @Bean
+    public LockBackend lockBackend(RedissonClient redissonClient) {
+        switch (lockMode) {
+            case LOCAL:
+                return new LocalStripedLockBackend(lockStripes);
+            case HYBRID:
+                return new HybridLockBackend(
+                        new LocalStripedLockBackend(lockStripes),
+                        new RedissonLockBackend(redissonClient));
+            case SHARDED:
+                return shardedLockBackend();
+            default:
+                return new RedissonLockBackend(redissonClient);
+        }
+    }
+
+    private ShardedLockBackend shardedLockBackend() {
+        if (lockShards.isEmpty()) {
+            throw new IllegalStateException("account.lock.shards is required for SHARDED lock mode");
+        }
+
+        Map<String, RedissonLockBackend> shards = new LinkedHashMap<>();
+        List<RedissonClient> shardClients = new ArrayList<>();
+        for (String address : lockShards) {
+            RedissonClient shardClient = createRedissonClient(address.trim());
+            shardClients.add(shardClient);
+            shards.put(address.trim(), new RedissonLockBackend(shardClient));
+        }
+        return new ShardedLockBackend(
+                new ConsistentHashLockShardRouter<>(shards, lockShardVirtualNodes),
+                shardClients);
+    }
 }
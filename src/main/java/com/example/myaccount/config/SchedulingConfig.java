@@ -0,0 +1,12 @@
+package com.example.myaccount.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 일일 잔액 정합성 검사 같은 @Scheduled 작업을 켠다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
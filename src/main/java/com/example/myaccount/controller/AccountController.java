@@ -3,20 +3,26 @@ package com.example.myaccount.controller;
 import com.example.myaccount.domain.Account;
 import com.example.myaccount.dto.AccountDto;
 import com.example.myaccount.dto.AccountInfo;
+import com.example.myaccount.dto.BalanceAsOf;
 import com.example.myaccount.dto.CreateAccount;
 import com.example.myaccount.dto.DeleteAccount;
+import com.example.myaccount.service.AccountBalanceCache;
+import com.example.myaccount.service.AccountBalanceHistoryService;
 import com.example.myaccount.service.AccountService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
 public class AccountController {
     private final AccountService accountService;
+    private final AccountBalanceCache accountBalanceCache;
+    private final AccountBalanceHistoryService accountBalanceHistoryService;
 
     @PostMapping("/account")
     public CreateAccount.Response createAccount(
@@ -45,11 +51,15 @@ public class AccountController {
     @GetMapping("/account")
     public List<AccountInfo> getAccountsByUserId(
             @RequestParam("user_id") Long userId) {
-        return accountService.getAccountsByUserId(userId).stream()
-                .map(accountDto -> AccountInfo.builder()
-                        .accountNumber(accountDto.getAccountNumber())
-                        .balance(accountDto.getBalance())
-                        .build())
-                .collect(Collectors.toList());
+        return accountBalanceCache.getAccounts(userId,
+                accountService::getAccountsByUserId);
+    }
+
+    @GetMapping("/account/{accountNumber}/balance")
+    public BalanceAsOf.Response getBalanceAsOf(
+            @PathVariable String accountNumber,
+            @RequestParam("as_of")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return accountBalanceHistoryService.getBalanceAsOf(accountNumber, asOf);
     }
 }
@@ -1,24 +1,40 @@
 package com.example.myaccount.controller;
 
 import com.example.myaccount.aop.AccountLock;
+import com.example.myaccount.aop.Idempotent;
 import com.example.myaccount.dto.CancelBalance;
 import com.example.myaccount.dto.QueryTransactionResponse;
-import com.example.myaccount.dto.TransactionDto;
 import com.example.myaccount.dto.UseBalance;
+import com.example.myaccount.dto.TransactionHistory;
+import com.example.myaccount.dto.UseBalanceBatch;
 import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.service.AsyncTransactionExecutor;
+import com.example.myaccount.service.TransactionBatchService;
+import com.example.myaccount.service.TransactionHistoryService;
 import com.example.myaccount.service.TransactionService;
 import com.example.myaccount.type.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 잔액 관련 컨트롤러
  * 1. 잔액 사용
- * 2. 잔액 사용 취소
- * 3. 거래 확인
+ * 2. 잔액 일괄 사용
+ * 3. 잔액 사용 취소
+ * 4. 거래 확인
+ * 5. 계좌별 거래 내역 조회 (페이지, NDJSON 내보내기)
  */
 @Slf4j
 @RestController
@@ -26,52 +42,62 @@ import javax.validation.Valid;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final AsyncTransactionExecutor asyncTransactionExecutor;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionHistoryService transactionHistoryService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/transaction/use")
+    @Idempotent
     @AccountLock
-    public UseBalance.Response useBalance(
+    public CompletableFuture<UseBalance.Response> useBalance(
             @Valid @RequestBody UseBalance.Request request) {
 
-        TransactionDto transactionDto;
-        try {
-            Thread.sleep(5000L);
-            transactionDto = transactionService.useBalance(request.getUserId(),
-                    request.getAccountNumber(), request.getAmount());
-            return UseBalance.Response.from(transactionDto);
-        } catch (AccountException e) {
-            log.error("Failed to use balance. ");
-
-            transactionService.saveFailedTransaction(
-                    TransactionType.USE,
-                    request.getAccountNumber(),
-                    request.getAmount()
-            );
-            throw e;
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        return asyncTransactionExecutor.submit(request.getAccountNumber(),
+                () -> UseBalance.Response.from(transactionService.useBalance(
+                        request.getUserId(), request.getAccountNumber(),
+                        request.getAmount()))
+        ).whenComplete((response, e) -> {
+            if (unwrap(e) instanceof AccountException) {
+                log.error("Failed to use balance. ");
+
+                transactionService.saveFailedTransaction(
+                        TransactionType.USE,
+                        request.getAccountNumber(),
+                        request.getAmount()
+                );
+            }
+        });
+    }
+
+    @PostMapping("/transaction/use/batch")
+    @Idempotent
+    public UseBalanceBatch.Response useBalanceBatch(
+            @Valid @RequestBody UseBalanceBatch.Request request) {
+        return transactionBatchService.useBalanceBatch(request.getRequests());
     }
 
     @PostMapping("/transaction/cancel")
+    @Idempotent
     @AccountLock
-    public CancelBalance.Response cancelBalance(
+    public CompletableFuture<CancelBalance.Response> cancelBalance(
             @Valid @RequestBody CancelBalance.Request request) {
 
-        TransactionDto transactionDto;
-        try {
-            transactionDto = transactionService.cancelBalance(request.getTransactionId(),
-                    request.getAccountNumber(), request.getAmount());
-            return CancelBalance.Response.from(transactionDto);
-        } catch (AccountException e) {
-            log.error("Failed to use balance. ");
-
-            transactionService.saveFailedTransaction(
-                    TransactionType.CANCEL,
-                    request.getAccountNumber(),
-                    request.getAmount()
-            );
-            throw e;
-        }
+        return asyncTransactionExecutor.submit(request.getAccountNumber(),
+                () -> CancelBalance.Response.from(transactionService.cancelBalance(
+                        request.getTransactionId(), request.getAccountNumber(),
+                        request.getAmount()))
+        ).whenComplete((response, e) -> {
+            if (unwrap(e) instanceof AccountException) {
+                log.error("Failed to use balance. ");
+
+                transactionService.saveFailedTransaction(
+                        TransactionType.CANCEL,
+                        request.getAccountNumber(),
+                        request.getAmount()
+                );
+            }
+        });
     }
 
     @GetMapping("/transaction/{transactionId}")
@@ -81,4 +107,45 @@ public class TransactionController {
         return QueryTransactionResponse.from(transactionService.queryTransaction(transactionId));
     }
 
+    @GetMapping("/account/{accountNumber}/transactions")
+    public TransactionHistory.Response getTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return transactionHistoryService.getTransactionHistory(
+                accountNumber, cursor, size);
+    }
+
+    /**
+     * format=ndjson 이면 전체 내역을 한 줄에 한 건씩 내려준다.
+     */
+    @GetMapping(value = "/account/{accountNumber}/transactions",
+            params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTransactionHistory(
+            @PathVariable String accountNumber
+    ) {
+        // 응답을 쓰기 전에 계좌를 확인한다.
+        Long accountId = transactionHistoryService.getAccountId(accountNumber);
+        ObjectWriter writer = objectMapper.writerFor(TransactionHistory.Item.class);
+
+        StreamingResponseBody body = outputStream ->
+                transactionHistoryService.exportTransactionHistory(accountId, item -> {
+                    try {
+                        outputStream.write(writer.writeValueAsBytes(item));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null
+                ? e.getCause() : e;
+    }
+
 }
@@ -17,16 +17,25 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_account_account_number", columnNames = "accountNumber"),
+        indexes = @Index(
+                name = "idx_account_account_user", columnList = "account_user_id"))
 public class Account {
     @Id
     @GeneratedValue
     private Long id;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)     // 필요한 조회에서만 fetch join
+    @JoinColumn(name = "account_user_id")
     private AccountUser accountUser;
     private String accountNumber;
     @Enumerated(EnumType.STRING)    // 문자가 DB에 저장됨
     private AccountStatus accountStatus;
     private Long balance;
+    private Long initialBalance;     // 개설 시 잔액, 원장으로 잔액을 다시 계산하는 시작점
+    @Version
+    private Long version;           // 낙관적 동시성 제어
+    private Long fencingToken;      // 마지막으로 잔액을 바꾼 락 소유자의 펜싱 토큰
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
     @CreatedDate
@@ -53,4 +62,9 @@ public class Account {
         balance += amount;
     }
 
+    // 버전 조건부 UPDATE 가 반영된 뒤, 분리된 스냅샷의 버전을 DB 와 맞춘다.
+    public void increaseVersion() {
+        version += 1;
+    }
+
 }
@@ -0,0 +1,35 @@
+package com.example.myaccount.domain;
+
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 원장으로 다시 계산한 계좌 잔액 체크포인트
+ * (transactionAt, ledgerId) 거래까지 반영한 잔액이므로
+ * 특정 시점의 잔액은 그 이전 가장 가까운 체크포인트부터 남은 거래만 적용해서 구한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(
+        name = "idx_account_balance_checkpoint_account_transaction_at",
+        columnList = "accountId, transactionAt, ledgerId"))
+public class AccountBalanceCheckpoint {
+    @Id
+    @GeneratedValue
+    private Long id;
+    private Long accountId;
+    private Long ledgerId;              // 마지막으로 반영한 거래 row id
+    private LocalDateTime transactionAt;    // 마지막으로 반영한 거래 시각
+    private Long balance;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.example.myaccount.domain;
+
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 원장으로 다시 계산한 잔액과 맞지 않는 계좌
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_balance_drift_run_date", columnList = "runDate"))
+public class BalanceDrift {
+    @Id
+    @GeneratedValue
+    private Long id;
+    private LocalDate runDate;
+    private Long accountId;
+    private String accountNumber;
+    private Long expectedBalance;   // 원장으로 다시 계산한 잔액
+    private Long actualBalance;     // 계좌의 잔액
+    private Long firstDivergentTransactionId;   // 스냅샷이 처음 어긋난 거래, 없으면 null
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,57 @@
+package com.example.myaccount.domain;
+
+import com.example.myaccount.type.TransactionResultType;
+import com.example.myaccount.type.TransactionType;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 재시도해도 저장하지 못한 원장 (WRITE_BEHIND, GROUP_COMMIT)
+ * 잔액 변경은 이미 커밋되었으므로 버리지 않고 남겨 두었다가 원인을 고친 뒤 다시 반영한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class LedgerDeadLetter {
+    @Id
+    @GeneratedValue
+    private Long id;
+    private Long accountId;
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+    @Enumerated(EnumType.STRING)
+    private TransactionResultType transactionResultType;
+    private Long amount;
+    private Long balanceSnapShot;
+    private Long transactionId;
+    private Long originalTransactionId;
+    private LocalDateTime transactionAt;
+    @Column(length = 1000)
+    private String errorMessage;        // 마지막 저장 실패 원인
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    public static LedgerDeadLetter from(Transaction transaction, Exception e) {
+        String message = String.valueOf(e.getMessage());
+        return LedgerDeadLetter.builder()
+                .accountId(transaction.getAccount().getId())
+                .transactionType(transaction.getTransactionType())
+                .transactionResultType(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapShot(transaction.getBalanceSnapShot())
+                .transactionId(transaction.getTransactionId())
+                .originalTransactionId(transaction.getOriginalTransactionId())
+                .transactionAt(transaction.getTransactionAt())
+                .errorMessage(message.length() > 1000
+                        ? message.substring(0, 1000) : message)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.myaccount.domain;
+
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 정합성 검사를 끝낸 계좌 id 범위. 같은 날 다시 실행하면 이 범위는 건너뛴다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_reconciliation_checkpoint_run_date_range_start",
+        columnNames = {"runDate", "rangeStart"}))
+public class ReconciliationCheckpoint {
+    @Id
+    @GeneratedValue
+    private Long id;
+    private LocalDate runDate;
+    private Long rangeStart;        // 계좌 id, 포함
+    private Long rangeEnd;          // 계좌 id, 제외
+    private Integer accountsChecked;
+    private Integer driftCount;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
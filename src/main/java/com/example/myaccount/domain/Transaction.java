@@ -19,20 +19,33 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transaction_transaction_id",
+                columnNames = "transactionId"),
+        @UniqueConstraint(name = "uk_transaction_original_transaction_id",
+                columnNames = "originalTransactionId")},
+        indexes = @Index(name = "idx_transaction_account_transaction_at_id",
+                columnList = "account_id, transactionAt, id"))   // 계좌별 거래 내역 키셋 조회
 public class Transaction {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,
+            generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq",
+            sequenceName = "transaction_seq",
+            allocationSize = 50)    // pooled: insert 배치가 가능하도록 id 를 미리 할당
     private Long id;
     @Enumerated(EnumType.STRING)
     private TransactionType transactionType;
     @Enumerated(EnumType.STRING)
     private TransactionResultType transactionResultType;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)     // 필요한 조회에서만 fetch join
+    @JoinColumn(name = "account_id")
     private Account account;
     private Long amount;
     private Long balanceSnapShot;   // 거래 스냅샷
-    private String transactionId;   // 거래 스냅샷
+    private Long transactionId;     // 시간순 64비트 id, API 에서는 TransactionId 형식 문자열
+    private Long originalTransactionId;     // 취소 거래인 경우 취소한 사용 거래의 transactionId
     private LocalDateTime transactionAt;    // 거래 스냅샷
 
     @CreatedDate
@@ -0,0 +1,47 @@
+package com.example.myaccount.domain;
+
+import java.util.Optional;
+
+/**
+ * 거래 id 는 DB 에 bigint 로 저장하고, API 에서는 16자리 hex 문자열로 주고받는다.
+ */
+public final class TransactionId {
+    private static final int LENGTH = 16;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TransactionId() {
+    }
+
+    public static String format(Long transactionId) {
+        if (transactionId == null) {
+            return null;
+        }
+
+        char[] chars = new char[LENGTH];
+        long value = transactionId;
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 형식이 맞지 않으면 빈 값을 반환한다.
+     */
+    public static Optional<Long> parse(String transactionId) {
+        if (transactionId == null || transactionId.length() != LENGTH) {
+            return Optional.empty();
+        }
+
+        long value = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            int digit = Character.digit(transactionId.charAt(i), 16);
+            if (digit < 0) {
+                return Optional.empty();
+            }
+            value = (value << 4) | digit;
+        }
+        return Optional.of(value);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.myaccount.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+public class BalanceAsOf {
+
+    /**
+     * 개설 잔액이 기록되지 않은 계좌는 asOf 이전 거래가 없으면 balance 가 null 이다.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private LocalDateTime asOf;
+        private Long balance;
+        private LocalDateTime checkpointAt;     // 시작한 체크포인트, 없으면 null
+        private int replayedTransactions;       // 체크포인트 이후 적용한 거래 수
+    }
+}
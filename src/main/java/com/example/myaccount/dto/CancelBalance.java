@@ -1,6 +1,7 @@
 package com.example.myaccount.dto;
 
 import com.example.myaccount.aop.AccountLockInterface;
+import com.example.myaccount.aop.IdempotencyScopeInterface;
 import com.example.myaccount.type.TransactionResultType;
 import lombok.*;
 
@@ -22,7 +23,8 @@ public class CancelBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static class Request implements AccountLockInterface {   // static
+    public static class Request implements AccountLockInterface,
+            IdempotencyScopeInterface {   // static
         @NotNull
         private String transactionId;
 
@@ -34,6 +36,14 @@ public class CancelBalance {
         @Min(10)
         @Max(1000_000_000)
         private Long amount;
+
+        /**
+         * 취소 요청에는 사용자 아이디가 없으므로 한 사용자에게만 속한 계좌로 나눈다.
+         */
+        @Override
+        public String getIdempotencyScope() {
+            return "account:" + accountNumber;
+        }
     }
 
 
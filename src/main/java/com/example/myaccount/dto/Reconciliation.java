@@ -0,0 +1,64 @@
+package com.example.myaccount.dto;
+
+import com.example.myaccount.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class Reconciliation {
+
+    /**
+     * 잔액을 다시 계산하는 데 필요한 성공 거래 한 건
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class LedgerEntry {
+        private Long accountId;
+        private Long id;
+        private Long transactionId;
+        private TransactionType transactionType;
+        private Long amount;
+        private Long balanceSnapShot;
+        private LocalDateTime transactionAt;
+
+        // 잔액 변화량: 사용은 차감, 취소는 복원
+        public long signedAmount() {
+            return transactionType == TransactionType.USE ? -amount : amount;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class AccountBalance {
+        private Long accountId;
+        private String accountNumber;
+        private Long initialBalance;
+        private Long balance;
+    }
+
+    /**
+     * 정합성 검사 결과 요약. 범위별 결과를 합쳐서 만든다.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Result {
+        private LocalDate runDate;
+        private int rangesChecked;
+        private int rangesSkipped;      // 이전 실행에서 이미 끝난 범위
+        private long accountsChecked;
+        private long drifts;
+
+        public static Result empty(LocalDate runDate) {
+            return new Result(runDate, 0, 0, 0, 0);
+        }
+
+        public Result plus(Result other) {
+            return new Result(runDate, rangesChecked + other.rangesChecked,
+                    rangesSkipped + other.rangesSkipped,
+                    accountsChecked + other.accountsChecked,
+                    drifts + other.drifts);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.myaccount.dto;
 
 import com.example.myaccount.domain.Account;
 import com.example.myaccount.domain.Transaction;
+import com.example.myaccount.domain.TransactionId;
 import com.example.myaccount.type.TransactionResultType;
 import com.example.myaccount.type.TransactionType;
 import lombok.*;
@@ -27,6 +28,15 @@ public class TransactionDto {
     private String transactionId;
     private LocalDateTime transactionAt;
 
+    // JPQL 생성자 표현식 용도
+    public TransactionDto(String accountNumber, TransactionType transactionType,
+                          TransactionResultType transactionResultType,
+                          Long amount, Long balanceSnapShot, Long transactionId,
+                          LocalDateTime transactionAt) {
+        this(accountNumber, transactionType, transactionResultType, amount,
+                balanceSnapShot, TransactionId.format(transactionId), transactionAt);
+    }
+
     public static TransactionDto fromEntity(Transaction transaction) {
         return TransactionDto.builder()
                 .accountNumber(transaction.getAccount().getAccountNumber())
@@ -34,7 +44,7 @@ public class TransactionDto {
                 .transactionResultType(transaction.getTransactionResultType())
                 .amount(transaction.getAmount())
                 .balanceSnapShot(transaction.getBalanceSnapShot())
-                .transactionId(transaction.getTransactionId())
+                .transactionId(TransactionId.format(transaction.getTransactionId()))
                 .transactionAt(transaction.getTransactionAt())
                 .build();
     }
@@ -0,0 +1,96 @@
+package com.example.myaccount.dto;
+
+import com.example.myaccount.domain.TransactionId;
+import com.example.myaccount.type.TransactionResultType;
+import com.example.myaccount.type.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class TransactionHistory {
+
+    /**
+     * 계좌의 거래 내역 한 건. 엔티티 대신 JPQL 생성자 표현식으로 바로 만든다.
+     */
+    @Getter
+    @NoArgsConstructor
+    public static class Item {
+        @JsonIgnore
+        private Long id;                // 커서 용도
+        private String transactionId;
+        private TransactionType transactionType;
+        private TransactionResultType transactionResultType;
+        private Long amount;
+        private Long balanceSnapShot;
+        private LocalDateTime transactedAt;
+
+        public Item(Long id, Long transactionId, TransactionType transactionType,
+                    TransactionResultType transactionResultType, Long amount,
+                    Long balanceSnapShot, LocalDateTime transactedAt) {
+            this.id = id;
+            this.transactionId = TransactionId.format(transactionId);
+            this.transactionType = transactionType;
+            this.transactionResultType = transactionResultType;
+            this.amount = amount;
+            this.balanceSnapShot = balanceSnapShot;
+            this.transactedAt = transactedAt;
+        }
+    }
+
+    /**
+     * {
+     *    "transactions":[...],
+     *    "nextCursor":"2022-06-01T23:26:14.671859_1234"
+     * }
+     * nextCursor 가 없으면 마지막 페이지이다.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private List<Item> transactions;
+        private String nextCursor;
+    }
+
+    /**
+     * (transactionAt, id) 키셋 커서. 최신 거래부터 내려가며 조회한다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        private static final char SEPARATOR = '_';
+
+        private final LocalDateTime transactionAt;
+        private final Long id;
+
+        public static Cursor from(Item item) {
+            return new Cursor(item.getTransactedAt(), item.getId());
+        }
+
+        public String encode() {
+            return transactionAt.toString() + SEPARATOR + id;
+        }
+
+        /**
+         * 형식이 맞지 않으면 빈 값을 반환한다.
+         */
+        public static Optional<Cursor> decode(String cursor) {
+            int separator = cursor.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new Cursor(
+                        LocalDateTime.parse(cursor.substring(0, separator)),
+                        Long.parseLong(cursor.substring(separator + 1))));
+            } catch (RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.myaccount.dto;
 
 import com.example.myaccount.aop.AccountLockInterface;
+import com.example.myaccount.aop.IdempotencyScopeInterface;
 import com.example.myaccount.type.TransactionResultType;
 import lombok.*;
 
@@ -22,7 +23,8 @@ public class UseBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static class Request implements AccountLockInterface {   // static
+    public static class Request implements AccountLockInterface,
+            IdempotencyScopeInterface {   // static
         @NotNull
         @Min(1)
         private Long userId;
@@ -35,6 +37,11 @@ public class UseBalance {
         @Min(10)
         @Max(1000_000_000)
         private Long amount;
+
+        @Override
+        public String getIdempotencyScope() {
+            return "user:" + userId;
+        }
     }
 
 
@@ -0,0 +1,96 @@
+package com.example.myaccount.dto;
+
+import com.example.myaccount.aop.IdempotencyScopeInterface;
+import com.example.myaccount.type.ErrorCode;
+import com.example.myaccount.type.TransactionResultType;
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class UseBalanceBatch {
+
+    /**
+     * {
+     *    "requests":[
+     *       {"userId":1, "accountNumber":"1000000000", "amount":1000},
+     *       {"userId":1, "accountNumber":"1000000001", "amount":500}
+     *    ]
+     * }
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request implements IdempotencyScopeInterface {
+        @NotEmpty
+        @Size(max = 1000)
+        @Valid
+        private List<UseBalance.Request> requests;
+
+        @Override
+        public String getIdempotencyScope() {
+            return "user:" + requests.stream()
+                    .map(request -> String.valueOf(request.getUserId()))
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+    }
+
+    /**
+     * 요청 순서대로 건별 결과를 담는다. 일부가 실패해도 나머지는 처리된다.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private List<Item> results;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private int index;
+        private String accountNumber;
+        private TransactionResultType transactionResultType;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static Item success(TransactionDto transactionDto) {
+            return Item.builder()
+                    .accountNumber(transactionDto.getAccountNumber())
+                    .transactionResultType(transactionDto.getTransactionResultType())
+                    .transactionId(transactionDto.getTransactionId())
+                    .amount(transactionDto.getAmount())
+                    .transactedAt(transactionDto.getTransactionAt())
+                    .build();
+        }
+
+        public static Item failure(UseBalance.Request request, ErrorCode errorCode) {
+            return Item.builder()
+                    .accountNumber(request.getAccountNumber())
+                    .transactionResultType(TransactionResultType.F)
+                    .amount(request.getAmount())
+                    .errorCode(errorCode)
+                    .errorMessage(errorCode.getDescription())
+                    .build();
+        }
+
+        public boolean isFailed() {
+            return transactionResultType == TransactionResultType.F;
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.example.myaccount.exception;
 import com.example.myaccount.dto.ErrorResponse;
 import com.example.myaccount.type.ErrorCode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import static com.example.myaccount.type.ErrorCode.*;
@@ -19,6 +21,15 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(e.getErrorCode(), e.getErrorMessage());
     }
 
+    @ExceptionHandler(IdempotencyConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleIdempotencyConflictException(
+            IdempotencyConflictException e) {
+        log.warn("{} is occurred", e.getErrorCode());
+
+        return new ErrorResponse(e.getErrorCode(), e.getErrorMessage());
+    }
+
     // Exception 종류에 따라 handler를 만들어주면, 더 친절한 에러 코드가 될 수 있다.
 
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,12 @@
+package com.example.myaccount.exception;
+
+import com.example.myaccount.type.ErrorCode;
+
+/**
+ * 같은 멱등 키를 다른 요청이 쓰고 있거나 이미 다른 본문으로 썼다. 409 로 응답한다.
+ */
+public class IdempotencyConflictException extends AccountException {
+    public IdempotencyConflictException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
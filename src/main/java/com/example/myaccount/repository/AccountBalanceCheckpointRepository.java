@@ -0,0 +1,29 @@
+package com.example.myaccount.repository;
+
+import com.example.myaccount.domain.AccountBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountBalanceCheckpointRepository
+        extends JpaRepository<AccountBalanceCheckpoint, Long> {
+
+    // 시점 잔액 조회: asOf 이전의 가장 가까운 체크포인트
+    Optional<AccountBalanceCheckpoint>
+    findFirstByAccountIdAndTransactionAtLessThanEqualOrderByTransactionAtDescLedgerIdDesc(
+            Long accountId, LocalDateTime asOf);
+
+    // 계좌마다 거래 순서대로 기록하므로 id 가 가장 큰 것이 최신 체크포인트다.
+    @Query("select c from AccountBalanceCheckpoint c "
+            + "where c.accountId >= :fromId and c.accountId < :toId "
+            + "and c.id = (select max(c2.id) from AccountBalanceCheckpoint c2 "
+            + "where c2.accountId = c.accountId)")
+    List<AccountBalanceCheckpoint> findLatestInRange(@Param("fromId") Long fromId,
+                                                     @Param("toId") Long toId);
+}
@@ -1,17 +1,91 @@
 package com.example.myaccount.repository;
 
 import com.example.myaccount.domain.Account;
+import com.example.myaccount.domain.AccountStatus;
 import com.example.myaccount.domain.AccountUser;
+import com.example.myaccount.dto.AccountInfo;
+import com.example.myaccount.dto.Reconciliation;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
-    Optional<Account> findFirstByOrderByIdDesc(); // 명에 맞게 쿼리 만들어짐
+    @Query(value = "select next value for account_number_block_seq",
+            nativeQuery = true)
+    Long nextAccountNumberBlock(); // 계좌번호 블록 예약
     Integer countByAccountUser(AccountUser accountUser);
     Optional<Account> findByAccountNumber(String accountNumber);
+
+    @Cacheable(cacheNames = "accountId", key = "#p0", unless = "#result == null")
+    @Query("select a.id from Account a where a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // 낙관적 모드: 읽은 뒤 다른 요청이 바꾸지 않았을 때만 반영된다. (반영된 row 수 반환)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, "
+            + "a.version = a.version + 1, a.updatedAt = current_timestamp "
+            + "where a.id = :id and a.version = :version "
+            + "and a.balance >= :amount and a.accountStatus = :status")
+    int debitBalance(@Param("id") Long id, @Param("version") Long version,
+                     @Param("amount") Long amount,
+                     @Param("status") AccountStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, "
+            + "a.version = a.version + 1, a.updatedAt = current_timestamp "
+            + "where a.id = :id and a.version = :version")
+    int creditBalance(@Param("id") Long id, @Param("version") Long version,
+                      @Param("amount") Long amount);
+
+    // 펜싱: 이 토큰보다 큰 토큰을 가진 소유자가 먼저 바꿨다면 반영되지 않는다.
+    // 같은 락 보유 중의 여러 건은 같은 토큰을 쓰므로 크거나 같을 때 반영한다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, "
+            + "a.version = a.version + 1, a.fencingToken = :token, "
+            + "a.updatedAt = current_timestamp "
+            + "where a.id = :id "
+            + "and (a.fencingToken is null or a.fencingToken <= :token) "
+            + "and a.balance >= :amount and a.accountStatus = :status")
+    int debitBalanceFenced(@Param("id") Long id, @Param("token") Long token,
+                           @Param("amount") Long amount,
+                           @Param("status") AccountStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, "
+            + "a.version = a.version + 1, a.fencingToken = :token, "
+            + "a.updatedAt = current_timestamp "
+            + "where a.id = :id "
+            + "and (a.fencingToken is null or a.fencingToken <= :token)")
+    int creditBalanceFenced(@Param("id") Long id, @Param("token") Long token,
+                            @Param("amount") Long amount);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
     List<Account> findByAccountUser(AccountUser accountUser);
+
+    // 응답에 필요한 두 컬럼만 읽는다. 사용자 id 는 FK 컬럼이므로 조인하지 않는다.
+    @Query("select new com.example.myaccount.dto.AccountInfo("
+            + "a.accountNumber, a.balance) "
+            + "from Account a where a.accountUser.id = :userId")
+    List<AccountInfo> findAccountInfosByUserId(@Param("userId") Long userId);
+
+    // 정합성 검사: 계좌 id 범위를 나누기 위한 최소/최대 id
+    @Query("select min(a.id) from Account a")
+    Optional<Long> findMinId();
+
+    @Query("select max(a.id) from Account a")
+    Optional<Long> findMaxId();
+
+    @Query("select new com.example.myaccount.dto.Reconciliation$AccountBalance("
+            + "a.id, a.accountNumber, a.initialBalance, a.balance) "
+            + "from Account a where a.id >= :fromId and a.id < :toId order by a.id")
+    List<Reconciliation.AccountBalance> findBalancesInRange(
+            @Param("fromId") Long fromId, @Param("toId") Long toId);
 }
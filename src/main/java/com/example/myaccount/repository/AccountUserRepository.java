@@ -1,7 +1,14 @@
 package com.example.myaccount.repository;
 
 import com.example.myaccount.domain.AccountUser;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {
+    // 사용자 정보는 거의 바뀌지 않으므로 캐시에서 조회한다. (없는 사용자는 캐시하지 않음)
+    @Override
+    @Cacheable(cacheNames = "accountUser", key = "#p0", unless = "#result == null")
+    Optional<AccountUser> findById(Long id);
 }
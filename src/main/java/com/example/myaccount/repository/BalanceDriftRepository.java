@@ -0,0 +1,13 @@
+package com.example.myaccount.repository;
+
+import com.example.myaccount.domain.BalanceDrift;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BalanceDriftRepository extends JpaRepository<BalanceDrift, Long> {
+    List<BalanceDrift> findByRunDate(LocalDate runDate);
+}
@@ -0,0 +1,9 @@
+package com.example.myaccount.repository;
+
+import com.example.myaccount.domain.LedgerDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LedgerDeadLetterRepository extends JpaRepository<LedgerDeadLetter, Long> {
+}
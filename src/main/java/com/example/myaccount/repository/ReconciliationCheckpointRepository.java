@@ -0,0 +1,13 @@
+package com.example.myaccount.repository;
+
+import com.example.myaccount.domain.ReconciliationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ReconciliationCheckpointRepository
+        extends JpaRepository<ReconciliationCheckpoint, Long> {
+    boolean existsByRunDateAndRangeStart(LocalDate runDate, Long rangeStart);
+}
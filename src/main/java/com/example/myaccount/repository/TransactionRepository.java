@@ -3,13 +3,115 @@ package com.example.myaccount.repository;
 import com.example.myaccount.domain.Account;
 import com.example.myaccount.domain.AccountUser;
 import com.example.myaccount.domain.Transaction;
+import com.example.myaccount.dto.Reconciliation;
+import com.example.myaccount.dto.TransactionDto;
+import com.example.myaccount.dto.TransactionHistory;
+import com.example.myaccount.type.TransactionResultType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    Optional<Transaction> findByTransactionId(String transactionId);
+    String HISTORY_SELECT = "select new com.example.myaccount.dto.TransactionHistory$Item("
+            + "t.id, t.transactionId, t.transactionType, t.transactionResultType, "
+            + "t.amount, t.balanceSnapShot, t.transactionAt) from Transaction t ";
+    String HISTORY_ORDER = "order by t.transactionAt desc, t.id desc";
+    String LEDGER_SELECT = "select new com.example.myaccount.dto.Reconciliation$LedgerEntry("
+            + "t.account.id, t.id, t.transactionId, t.transactionType, t.amount, "
+            + "t.balanceSnapShot, t.transactionAt) from Transaction t ";
+    String LEDGER_ORDER = "order by t.account.id, t.transactionAt, t.id";
+
+    // 취소: 거래와 계좌를 함께 읽는다. (사용자는 읽지 않는다)
+    @EntityGraph(attributePaths = "account")
+    Optional<Transaction> findByTransactionId(Long transactionId);
+
+    // 거래 확인: 엔티티 없이 응답에 필요한 컬럼만 읽는다.
+    @Query("select new com.example.myaccount.dto.TransactionDto("
+            + "a.accountNumber, t.transactionType, t.transactionResultType, "
+            + "t.amount, t.balanceSnapShot, t.transactionId, t.transactionAt) "
+            + "from Transaction t join t.account a "
+            + "where t.transactionId = :transactionId")
+    Optional<TransactionDto> findDtoByTransactionId(
+            @Param("transactionId") Long transactionId);
+
+    // uk_transaction_original_transaction_id 인덱스로 조회한다.
+    boolean existsByOriginalTransactionId(Long originalTransactionId);
+
+    // 거래 내역: idx_transaction_account_transaction_at_id 순서로 최신 거래부터 조회한다.
+    @Query(HISTORY_SELECT + "where t.account.id = :accountId " + HISTORY_ORDER)
+    List<TransactionHistory.Item> findHistory(@Param("accountId") Long accountId,
+                                              Pageable pageable);
+
+    @Query(HISTORY_SELECT + "where t.account.id = :accountId "
+            + "and (t.transactionAt < :transactionAt "
+            + "or (t.transactionAt = :transactionAt and t.id < :id)) "
+            + HISTORY_ORDER)
+    List<TransactionHistory.Item> findHistoryAfter(
+            @Param("accountId") Long accountId,
+            @Param("transactionAt") LocalDateTime transactionAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    // 내보내기: 호출하는 쪽의 트랜잭션 안에서 끝까지 읽고 닫아야 한다.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(HISTORY_SELECT + "where t.account.id = :accountId " + HISTORY_ORDER)
+    Stream<TransactionHistory.Item> streamHistory(@Param("accountId") Long accountId);
+
+    // 정합성 검사: 계좌 id 범위의 거래를 계좌별 거래 순서로 한 번에 읽는다.
+    // 잔액 체크포인트 이전 거래는 호출하는 쪽에서 건너뛴다. (행마다 체크포인트를 조회하지 않는다)
+    // idx_transaction_account_transaction_at_id 범위 스캔, 호출하는 쪽의 트랜잭션 안에서 닫아야 한다.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(LEDGER_SELECT + "where t.account.id >= :fromId and t.account.id < :toId "
+            + "and t.transactionAt <= :until "
+            + "and t.transactionResultType = :resultType " + LEDGER_ORDER)
+    Stream<Reconciliation.LedgerEntry> streamLedgerInRange(
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            @Param("until") LocalDateTime until,
+            @Param("resultType") TransactionResultType resultType);
+
+    // 잔액 체크포인트 (transactionAt, id) 다음 거래부터 until 까지만 읽는다.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(LEDGER_SELECT + "where t.account.id = :accountId "
+            + "and (t.transactionAt > :transactionAt "
+            + "or (t.transactionAt = :transactionAt and t.id > :id)) "
+            + "and t.transactionAt <= :until "
+            + "and t.transactionResultType = :resultType " + LEDGER_ORDER)
+    Stream<Reconciliation.LedgerEntry> streamLedgerAfter(
+            @Param("accountId") Long accountId,
+            @Param("transactionAt") LocalDateTime transactionAt,
+            @Param("id") Long id,
+            @Param("until") LocalDateTime until,
+            @Param("resultType") TransactionResultType resultType);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(LEDGER_SELECT + "where t.account.id = :accountId "
+            + "and t.transactionAt <= :until "
+            + "and t.transactionResultType = :resultType " + LEDGER_ORDER)
+    Stream<Reconciliation.LedgerEntry> streamLedgerUntil(
+            @Param("accountId") Long accountId,
+            @Param("until") LocalDateTime until,
+            @Param("resultType") TransactionResultType resultType);
 }
@@ -0,0 +1,199 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.dto.AccountInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 사용자별 계좌 잔액 캐시 (GET /account?user_id=)
+ * 로컬 캐시 -> Redis(계좌번호 -> 잔액 해시) -> DB 순으로 조회한다.
+ * 잔액 변경은 커밋 후에 두 캐시에 반영하고, 계좌 생성/해지는 커밋 후에 지운다.
+ *
+ * 다른 노드의 변경은 Redis 에만 반영되므로 로컬 캐시는 local-ttl-ms 만큼 늦을 수 있다.
+ * DB 조회와 커밋이 겹쳐 Redis 에 이전 잔액이 남더라도 redis-ttl-ms 가 지나면 다시 읽는다.
+ * Redis 장애 시에는 로컬 캐시와 DB 만으로 동작한다.
+ */
+@Slf4j
+@Component
+public class AccountBalanceCache {
+    private static final String KEY_PREFIX = "BALANCE:";
+
+    private final RedissonClient redissonClient;
+    private final Cache<Long, List<AccountInfo>> localCache;
+    private final CompositeCodec codec =
+            new CompositeCodec(StringCodec.INSTANCE, LongCodec.INSTANCE);
+    private final long redisTtlMs;
+    private final boolean enabled;
+
+    private final Counter localHitCounter;
+    private final Counter redisHitCounter;
+    private final Counter missCounter;
+
+    public AccountBalanceCache(
+            RedissonClient redissonClient,
+            MeterRegistry meterRegistry,
+            @Value("${account.balance-cache.enabled:true}") boolean enabled,
+            @Value("${account.balance-cache.local-ttl-ms:500}") long localTtlMs,
+            @Value("${account.balance-cache.redis-ttl-ms:30000}") long redisTtlMs,
+            @Value("${account.balance-cache.local-max-size:10000}") long localMaxSize) {
+        this.redissonClient = redissonClient;
+        this.enabled = enabled;
+        this.redisTtlMs = redisTtlMs;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMillis(localTtlMs))
+                .build();
+        localHitCounter = requestCounter(meterRegistry, "local_hit");
+        redisHitCounter = requestCounter(meterRegistry, "redis_hit");
+        missCounter = requestCounter(meterRegistry, "miss");
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("account.balance.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public List<AccountInfo> getAccounts(Long userId,
+                                         Function<Long, List<AccountInfo>> loader) {
+        if (!enabled) {
+            return loader.apply(userId);
+        }
+
+        List<AccountInfo> accounts = localCache.getIfPresent(userId);
+        if (accounts != null) {
+            localHitCounter.increment();
+            return accounts;
+        }
+
+        accounts = readRedis(userId);
+        if (accounts != null) {
+            redisHitCounter.increment();
+            localCache.put(userId, accounts);
+            return accounts;
+        }
+
+        missCounter.increment();
+        accounts = Collections.unmodifiableList(new ArrayList<>(loader.apply(userId)));
+        localCache.put(userId, accounts);
+        writeRedis(userId, accounts);
+        return accounts;
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 후에, 밖이면 바로 잔액을 반영한다.
+     * 캐시에 없는 사용자는 채우지 않는다.
+     */
+    public void putBalanceAfterCommit(Long userId, String accountNumber, Long balance) {
+        if (enabled) {
+            afterCommit(() -> putBalance(userId, accountNumber, balance));
+        }
+    }
+
+    public void evictAfterCommit(Long userId) {
+        if (enabled) {
+            afterCommit(() -> evict(userId));
+        }
+    }
+
+    private void putBalance(Long userId, String accountNumber, Long balance) {
+        localCache.asMap().computeIfPresent(userId, (id, accounts) -> {
+            List<AccountInfo> updated = new ArrayList<>(accounts.size());
+            for (AccountInfo account : accounts) {
+                updated.add(account.getAccountNumber().equals(accountNumber)
+                        ? new AccountInfo(accountNumber, balance) : account);
+            }
+            return Collections.unmodifiableList(updated);
+        });
+        try {
+            // 만료된 해시에 일부 계좌만 다시 생기지 않도록 있는 필드만 바꾼다.
+            balanceMap(userId).fastPutIfExists(accountNumber, balance);
+        } catch (Exception e) {
+            log.error("Failed to write balance to redis", e);
+        }
+    }
+
+    private void evict(Long userId) {
+        localCache.invalidate(userId);
+        try {
+            balanceMap(userId).delete();
+        } catch (Exception e) {
+            log.error("Failed to evict balance from redis", e);
+        }
+    }
+
+    private List<AccountInfo> readRedis(Long userId) {
+        Map<String, Long> balances;
+        try {
+            balances = balanceMap(userId).readAllMap();
+        } catch (Exception e) {
+            log.error("Failed to read balance from redis", e);
+            return null;
+        }
+        if (balances.isEmpty()) {
+            return null;
+        }
+
+        List<AccountInfo> accounts = new ArrayList<>(balances.size());
+        new TreeMap<>(balances).forEach((accountNumber, balance) ->
+                accounts.add(new AccountInfo(accountNumber, balance)));
+        return Collections.unmodifiableList(accounts);
+    }
+
+    private void writeRedis(Long userId, List<AccountInfo> accounts) {
+        if (accounts.isEmpty()) {
+            return;     // 빈 해시는 Redis 에 저장되지 않는다.
+        }
+
+        Map<String, Long> balances = new TreeMap<>();
+        accounts.forEach(account ->
+                balances.put(account.getAccountNumber(), account.getBalance()));
+        try {
+            RMap<String, Long> map = balanceMap(userId);
+            map.putAll(balances);
+            map.expire(redisTtlMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.error("Failed to write balance to redis", e);
+        }
+    }
+
+    private RMap<String, Long> balanceMap(Long userId) {
+        return redissonClient.getMap(KEY_PREFIX + userId, codec);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+}
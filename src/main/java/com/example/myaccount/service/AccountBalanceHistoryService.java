@@ -0,0 +1,66 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.domain.Account;
+import com.example.myaccount.domain.AccountBalanceCheckpoint;
+import com.example.myaccount.dto.BalanceAsOf;
+import com.example.myaccount.dto.Reconciliation;
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.repository.AccountBalanceCheckpointRepository;
+import com.example.myaccount.repository.AccountRepository;
+import com.example.myaccount.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.example.myaccount.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.myaccount.type.TransactionResultType.S;
+
+/**
+ * 특정 시점의 계좌 잔액 조회
+ * asOf 이전 가장 가까운 잔액 체크포인트에서 시작해 남은 거래만 원장에서 다시 적용한다.
+ * 체크포인트가 없으면 개설 잔액에서 시작해 처음부터 적용한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountBalanceHistoryService {
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountBalanceCheckpointRepository checkpointRepository;
+
+    @Transactional(readOnly = true)
+    public BalanceAsOf.Response getBalanceAsOf(String accountNumber, LocalDateTime asOf) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        Optional<AccountBalanceCheckpoint> checkpoint = checkpointRepository
+                .findFirstByAccountIdAndTransactionAtLessThanEqualOrderByTransactionAtDescLedgerIdDesc(
+                        account.getId(), asOf);
+
+        BalanceReplay replay;
+        Stream<Reconciliation.LedgerEntry> tail;
+        if (checkpoint.isPresent()) {
+            replay = new BalanceReplay(checkpoint.get().getBalance());
+            tail = transactionRepository.streamLedgerAfter(account.getId(),
+                    checkpoint.get().getTransactionAt(), checkpoint.get().getLedgerId(),
+                    asOf, S);
+        } else {
+            replay = new BalanceReplay(account.getInitialBalance());
+            tail = transactionRepository.streamLedgerUntil(account.getId(), asOf, S);
+        }
+        try (Stream<Reconciliation.LedgerEntry> entries = tail) {
+            entries.forEach(replay::apply);
+        }
+
+        return BalanceAsOf.Response.builder()
+                .accountNumber(accountNumber)
+                .asOf(asOf)
+                .balance(replay.getBalance())
+                .checkpointAt(checkpoint.map(AccountBalanceCheckpoint::getTransactionAt)
+                        .orElse(null))
+                .replayedTransactions(replay.getApplied())
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 계좌번호 해시로 샤드를 고르고, 샤드마다 하나의 스레드가 명령을 순서대로 실행한다.
+ * 같은 계좌의 잔액 변경은 항상 같은 스레드에서 하나씩 처리되므로 락이 필요 없다.
+ * 직렬화는 JVM 안에서만 보장되므로 단일 노드이거나
+ * 계좌번호 기준으로 요청이 라우팅되는 환경에서 사용한다.
+ */
+@Slf4j
+@Component
+public class AccountCommandExecutor {
+    private final ThreadPoolExecutor[] shards;
+    private final long timeoutMs;
+
+    public AccountCommandExecutor(
+            @Value("${account.transaction.single-writer.shards:16}") int shardCount,
+            @Value("${account.transaction.single-writer.queue-capacity:1000}") int queueCapacity,
+            @Value("${account.transaction.single-writer.timeout-ms:5000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        shards = new ThreadPoolExecutor[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String threadName = "account-writer-" + i;
+            shards[i] = new ThreadPoolExecutor(1, 1,
+                    0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> new Thread(runnable, threadName));
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(String accountNumber,
+                                           AccountCommand<T> command) {
+        return submit(accountNumber, command, new AtomicBoolean());
+    }
+
+    /**
+     * started 를 먼저 바꾼 쪽이 이긴다. 샤드 스레드가 이기면 명령을 실행하고,
+     * 기다리던 호출자가 이기면(시간 초과) 명령은 실행하지 않는다.
+     */
+    private <T> CompletableFuture<T> submit(String accountNumber,
+                                            AccountCommand<T> command,
+                                            AtomicBoolean started) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            shardFor(accountNumber).execute(() -> {
+                if (!started.compareAndSet(false, true)) {  // 기다리던 호출자가 먼저 포기했다.
+                    return;
+                }
+                try {
+                    future.complete(command.execute());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 큐가 가득 찬 경우 락 획득 실패와 같은 응답을 준다.
+            log.error("Command queue is full for accountNumber : {}", accountNumber);
+            future.completeExceptionally(
+                    new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        }
+        return future;
+    }
+
+    /**
+     * submit 후 결과를 최대 timeout-ms 동안 기다린다. 명령에서 발생한 예외는 그대로 다시 던진다.
+     * 시간 안에 시작하지 못한 명령은 실행하지 않고 락 획득 실패와 같은 응답을 준다.
+     * 이미 시작한 명령은 잔액 변경이 커밋될 수 있으므로 끝날 때까지 기다려 실제 결과를 돌려준다.
+     */
+    public <T> T execute(String accountNumber,
+                         AccountCommand<T> command) throws Throwable {
+        AtomicBoolean started = new AtomicBoolean();
+        CompletableFuture<T> future = submit(accountNumber, command, started);
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            if (started.compareAndSet(false, true)) {
+                log.error("Command timed out for accountNumber : {}", accountNumber);
+                future.cancel(false);
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            return await(future);   // 이미 실행 중이다.
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ThreadPoolExecutor shardFor(String accountNumber) {
+        return shards[Math.floorMod(accountNumber.hashCode(), shards.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    public interface AccountCommand<T> {
+        T execute() throws Throwable;
+    }
+}
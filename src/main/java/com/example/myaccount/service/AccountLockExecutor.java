@@ -0,0 +1,43 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.service.AccountCommandExecutor.AccountCommand;
+import com.example.myaccount.type.TransactionExecutionMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * account.transaction.execution-mode 에 맞게 계좌 하나에 대한 작업을 직렬화해서 실행한다.
+ * LockAopAspect 와 일괄 처리가 같이 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountLockExecutor {
+    private final LockService lockService;
+    private final AccountCommandExecutor accountCommandExecutor;
+
+    @Value("${account.transaction.execution-mode:LOCK}")
+    private TransactionExecutionMode executionMode = TransactionExecutionMode.LOCK;
+
+    public <T> T execute(String accountNumber,
+                         AccountCommand<T> command) throws Throwable {
+        if (executionMode == TransactionExecutionMode.SINGLE_WRITER) {
+            // 계좌별 단일 스레드 큐에서 실행하므로 락을 잡지 않는다.
+            return accountCommandExecutor.execute(accountNumber, command);
+        }
+
+        if (executionMode == TransactionExecutionMode.OPTIMISTIC) {
+            // 잔액 변경이 버전 조건부 UPDATE 로 보호되므로 락을 잡지 않는다.
+            return command.execute();
+        }
+
+        // lock 취득 시도
+        lockService.lock(accountNumber);
+        try {
+            return command.execute();
+        } finally {
+            // lock 해제
+            lockService.unLock(accountNumber);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.myaccount.service;
+
+/**
+ * 신규 계좌번호 발급기
+ * 구현체는 여러 노드에서 동시에 호출되어도 중복된 번호를 발급하지 않아야 한다.
+ */
+public interface AccountNumberAllocator {
+    String nextAccountNumber();
+}
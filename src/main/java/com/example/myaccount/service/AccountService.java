@@ -4,19 +4,21 @@ import com.example.myaccount.domain.Account;
 import com.example.myaccount.domain.AccountStatus;
 import com.example.myaccount.domain.AccountUser;
 import com.example.myaccount.dto.AccountDto;
+import com.example.myaccount.dto.AccountInfo;
 import com.example.myaccount.exception.AccountException;
 import com.example.myaccount.repository.AccountRepository;
 import com.example.myaccount.repository.AccountUserRepository;
 import com.example.myaccount.type.ErrorCode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static com.example.myaccount.domain.AccountStatus.*;
 import static com.example.myaccount.type.ErrorCode.*;
@@ -27,6 +29,8 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountBalanceCache accountBalanceCache;
 
     /**
      * 사용자가 있는지 조회
@@ -40,9 +44,8 @@ public class AccountService {
 
         validateCreateAccount(accountUser);
 
-        String newAccountNumber =  accountRepository.findFirstByOrderByIdDesc()
-                 .map(account -> Integer.parseInt(account.getAccountNumber()) + 1 + "")
-                .orElse("1000000000");
+        String newAccountNumber = accountNumberAllocator.nextAccountNumber();
+        accountBalanceCache.evictAfterCommit(userId);
 
         return AccountDto.fromEntity(
                 accountRepository.save(
@@ -51,6 +54,7 @@ public class AccountService {
                         .accountStatus(IN_USE)
                         .accountNumber(newAccountNumber)
                         .balance(initialBalance)
+                        .initialBalance(initialBalance)
                         .registeredAt(LocalDateTime.now())
                         .build()
         ));
@@ -73,6 +77,7 @@ public class AccountService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = "accountId", key = "#accountNumber")
     public AccountDto deleteAccount(Long userId, String accountNumber) {
         AccountUser accountUser = accountUserRepository.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
@@ -82,12 +87,13 @@ public class AccountService {
         validateDeleteAccount(accountUser, account);
 
         account.unregister();
+        accountBalanceCache.evictAfterCommit(userId);
 
         return AccountDto.fromEntity(account);
     }
 
     private void validateDeleteAccount(AccountUser accountUser, Account account) {
-        if (accountUser.getId() != account.getAccountUser().getId()) {
+        if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
             throw new AccountException(USER_ACCOUNT_NOT_MATCH);
         }
 
@@ -100,14 +106,14 @@ public class AccountService {
         }
     }
 
-    public List<AccountDto> getAccountsByUserId(Long userId) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
+    /**
+     * 엔티티를 읽지 않으므로 영속성 컨텍스트와 dirty checking 을 거치지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public List<AccountInfo> getAccountsByUserId(Long userId) {
+        accountUserRepository.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
 
-        List<Account> accounts = accountRepository.findByAccountUser(accountUser);
-
-        return accounts.stream()
-                .map(AccountDto::fromEntity)
-                .collect(Collectors.toList());
+        return accountRepository.findAccountInfosByUserId(userId);
     }
 }
@@ -0,0 +1,16 @@
+package com.example.myaccount.service;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스레드를 붙잡지 않고 락을 기다릴 수 있는 구현체
+ * 락을 잡은 스레드와 푸는 스레드가 다를 수 있으므로 소유자를 ownerId 로 구분한다.
+ */
+public interface AsyncLockBackend extends LockBackend {
+    CompletionStage<Boolean> tryLockAsync(String accountNumber, long waitTime,
+                                          long leaseTime, TimeUnit unit,
+                                          long ownerId);
+
+    CompletionStage<Void> unlockAsync(String accountNumber, long ownerId);
+}
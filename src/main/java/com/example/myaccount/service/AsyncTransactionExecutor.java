@@ -0,0 +1,201 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.service.AccountCommandExecutor.AccountCommand;
+import com.example.myaccount.type.ErrorCode;
+import com.example.myaccount.type.TransactionExecutionMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 거래 요청을 서블릿 스레드 밖에서 실행하고 CompletableFuture 로 돌려준다.
+ * Redis 락은 tryLockAsync 로 기다리므로 락 대기가 스레드를 점유하지 않고,
+ * DB 작업만 제한된 executor 에서 실행한다.
+ * 로컬 락(LOCAL, HYBRID)은 스레드 소유이므로 락, 작업, 해제를 같은 executor 스레드에서 한다.
+ * 비활성화 상태에서는 호출 스레드에서 바로 실행하고 락은 LockAopAspect 가 잡는다.
+ */
+@Slf4j
+@Component
+public class AsyncTransactionExecutor {
+    // Redisson 은 clientId:threadId 로 락 소유자를 구분한다.
+    // 실제 스레드 id 와 겹치지 않도록 음수를 사용한다.
+    private static final AtomicLong OWNER_IDS = new AtomicLong(Long.MIN_VALUE);
+
+    private final LockService lockService;
+    private final AccountCommandExecutor accountCommandExecutor;
+    private final TransactionExecutionMode executionMode;
+    private final boolean enabled;
+    private final ExecutorService executor;
+    private final Semaphore permits;    // 실행 중 + 대기 중인 작업 수 제한
+
+    public AsyncTransactionExecutor(
+            LockService lockService,
+            AccountCommandExecutor accountCommandExecutor,
+            @Value("${account.transaction.execution-mode:LOCK}") TransactionExecutionMode executionMode,
+            @Value("${account.transaction.async.enabled:false}") boolean enabled,
+            @Value("${account.transaction.async.threads:64}") int threads,
+            @Value("${account.transaction.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${account.transaction.async.virtual-threads:false}") boolean virtualThreads) {
+        this.lockService = lockService;
+        this.accountCommandExecutor = accountCommandExecutor;
+        this.executionMode = executionMode;
+        this.enabled = enabled;
+        this.executor = newExecutor(threads, virtualThreads);
+        this.permits = new Semaphore(threads + queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T> CompletableFuture<T> submit(String accountNumber,
+                                           AccountCommand<T> command) {
+        if (!enabled) {
+            return runInline(command);
+        }
+
+        switch (executionMode) {
+            case SINGLE_WRITER:
+                return accountCommandExecutor.submit(accountNumber, command);
+            case OPTIMISTIC:
+                return supply(command);
+            default:
+                if (lockService.supportsAsync()) {
+                    return submitWithAsyncLock(accountNumber, command);
+                }
+                return submitWithLock(accountNumber, command);
+        }
+    }
+
+    private <T> CompletableFuture<T> submitWithLock(String accountNumber,
+                                                    AccountCommand<T> command) {
+        return supply(() -> {
+            lockService.lock(accountNumber);
+            try {
+                return command.execute();
+            } finally {
+                lockService.unLock(accountNumber);
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> submitWithAsyncLock(String accountNumber,
+                                                         AccountCommand<T> command) {
+        long ownerId = OWNER_IDS.getAndIncrement();
+        return lockService.lockAsync(accountNumber, ownerId)
+                .handle((fencingToken, e) -> {
+                    if (e == null) {
+                        return supply(withFencingToken(accountNumber, fencingToken, command))
+                                .whenComplete((result, error) ->
+                                        lockService.unLockAsync(accountNumber, ownerId)
+                                                .exceptionally(unlockError -> {
+                                                    log.error("Async unlock failed",
+                                                            unlockError);
+                                                    return null;
+                                                }));
+                    }
+                    if (lockService.shouldFallBackToLock(e)) {
+                        // 락 서버 장애: 작업 스레드에서 동기 락으로 잡는다. (로컬 대체 포함)
+                        log.warn("Async lock unavailable. Falling back to lock for {}",
+                                accountNumber);
+                        return submitWithLock(accountNumber, command);
+                    }
+                    return CompletableFuture.<T>failedFuture(e);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private static <T> AccountCommand<T> withFencingToken(
+            String accountNumber, Long fencingToken, AccountCommand<T> command) {
+        if (fencingToken == null) {
+            return command;
+        }
+
+        return () -> {
+            FencingTokenHolder.set(accountNumber, fencingToken);
+            try {
+                return command.execute();
+            } finally {
+                FencingTokenHolder.clear(accountNumber);
+            }
+        };
+    }
+
+    private <T> CompletableFuture<T> supply(AccountCommand<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!permits.tryAcquire()) {
+            log.error("Async transaction executor is full");
+            future.completeExceptionally(
+                    new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+            return future;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(command.execute());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            future.completeExceptionally(
+                    new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        }
+        return future;
+    }
+
+    private static <T> CompletableFuture<T> runInline(AccountCommand<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(command.execute());
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    /**
+     * virtual-threads 를 켜면 JDK 21 이상에서 작업마다 가상 스레드를 쓴다.
+     * 빌드 타깃은 Java 11 이므로 리플렉션으로 찾고, 없으면 고정 크기 풀을 쓴다.
+     */
+    private static ExecutorService newExecutor(int threads, boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads are not available. Using {} platform threads",
+                        threads);
+            }
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable,
+                    "account-async-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
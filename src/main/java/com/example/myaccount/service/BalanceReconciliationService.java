@@ -0,0 +1,280 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.domain.AccountBalanceCheckpoint;
+import com.example.myaccount.domain.BalanceDrift;
+import com.example.myaccount.domain.ReconciliationCheckpoint;
+import com.example.myaccount.dto.Reconciliation;
+import com.example.myaccount.repository.AccountBalanceCheckpointRepository;
+import com.example.myaccount.repository.AccountRepository;
+import com.example.myaccount.repository.BalanceDriftRepository;
+import com.example.myaccount.repository.ReconciliationCheckpointRepository;
+import com.example.myaccount.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.example.myaccount.type.TransactionResultType.S;
+
+/**
+ * 일일 잔액 정합성 검사
+ * 계좌 id 를 range-size 단위 범위로 나누고 fork/join 으로 범위마다 성공 거래를 스트림으로 읽어
+ * 잔액을 다시 계산한다. 계좌 잔액이나 거래의 잔액 스냅샷과 다르면 BalanceDrift 로 남긴다.
+ *
+ * 범위를 끝내면 (실행일, 범위 시작) 체크포인트를 남기므로 중간에 멈춘 검사는 같은 날 다시
+ * 실행하면 남은 범위부터 이어서 한다. 한 번에 메모리에 두는 것은 한 범위의 계좌뿐이다.
+ * 검사 중에 커밋된 거래 때문에 생긴 차이는 그 계좌만 다시 읽어서 거른다.
+ *
+ * 계좌마다 checkpoint-interval 거래마다 AccountBalanceCheckpoint 를 남기고, 다음 검사는
+ * 최신 체크포인트 잔액에서 시작해 그 다음 거래부터 적용한다. 원장은 추가만 되므로 체크포인트 이전
+ * 거래는 다시 적용하지 않는다. 범위의 거래는 계좌 수와 관계없이 한 번의 쿼리로 읽고,
+ * 체크포인트 이전 거래는 미리 읽어 둔 최신 체크포인트와 비교해서 건너뛴다.
+ * 늦게 저장되는 원장(WRITE_BEHIND 등)을 놓치지 않도록 settle-ms 보다 최근 거래에는 남기지 않는다.
+ */
+@Slf4j
+@Service
+public class BalanceReconciliationService {
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ReconciliationCheckpointRepository checkpointRepository;
+    private final BalanceDriftRepository balanceDriftRepository;
+    private final AccountBalanceCheckpointRepository balanceCheckpointRepository;
+    private final TransactionTemplate readOnlyTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final Counter driftCounter;
+    private final boolean enabled;
+    private final long rangeSize;
+    private final int parallelism;
+    private final int checkpointInterval;
+    private final long checkpointSettleMs;
+
+    public BalanceReconciliationService(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            ReconciliationCheckpointRepository checkpointRepository,
+            BalanceDriftRepository balanceDriftRepository,
+            AccountBalanceCheckpointRepository balanceCheckpointRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${account.reconciliation.enabled:false}") boolean enabled,
+            @Value("${account.reconciliation.range-size:1000}") long rangeSize,
+            @Value("${account.reconciliation.parallelism:4}") int parallelism,
+            @Value("${account.balance-checkpoint.interval:1000}") int checkpointInterval,
+            @Value("${account.balance-checkpoint.settle-ms:60000}") long checkpointSettleMs) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.balanceDriftRepository = balanceDriftRepository;
+        this.balanceCheckpointRepository = balanceCheckpointRepository;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.driftCounter = Counter.builder("account.reconciliation.drifts")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.rangeSize = rangeSize;
+        this.parallelism = parallelism;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointSettleMs = checkpointSettleMs;
+    }
+
+    @Scheduled(cron = "${account.reconciliation.cron:0 0 3 * * *}")
+    public void reconcileDaily() {
+        if (enabled) {
+            reconcile(LocalDate.now());
+        }
+    }
+
+    public Reconciliation.Result reconcile(LocalDate runDate) {
+        Optional<Long> minId = accountRepository.findMinId();
+        Optional<Long> maxId = accountRepository.findMaxId();
+        if (!minId.isPresent() || !maxId.isPresent()) {
+            return Reconciliation.Result.empty(runDate);
+        }
+
+        // 범위 경계를 id 기준으로 고정해서 다시 실행해도 같은 체크포인트를 찾는다.
+        long fromRange = minId.get() / rangeSize;
+        long toRange = maxId.get() / rangeSize + 1;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Reconciliation.Result result =
+                    pool.invoke(new RangeTask(runDate, fromRange, toRange));
+            log.info("Balance reconciliation finished: {}", result);
+            return result;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private class RangeTask extends RecursiveTask<Reconciliation.Result> {
+        private final LocalDate runDate;
+        private final long fromRange;
+        private final long toRange;
+
+        RangeTask(LocalDate runDate, long fromRange, long toRange) {
+            this.runDate = runDate;
+            this.fromRange = fromRange;
+            this.toRange = toRange;
+        }
+
+        @Override
+        protected Reconciliation.Result compute() {
+            if (toRange - fromRange == 1) {
+                return reconcileRange(runDate,
+                        fromRange * rangeSize, toRange * rangeSize);
+            }
+
+            long mid = (fromRange + toRange) >>> 1;
+            RangeTask left = new RangeTask(runDate, fromRange, mid);
+            left.fork();
+            Reconciliation.Result right =
+                    new RangeTask(runDate, mid, toRange).compute();
+            return left.join().plus(right);
+        }
+    }
+
+    Reconciliation.Result reconcileRange(LocalDate runDate, long fromId, long toId) {
+        if (checkpointRepository.existsByRunDateAndRangeStart(runDate, fromId)) {
+            return new Reconciliation.Result(runDate, 0, 1, 0, 0);
+        }
+
+        RangeReplay replay = readOnlyTemplate.execute(
+                status -> replayRange(runDate, fromId, toId));
+        List<BalanceDrift> drifts = new ArrayList<>();
+        for (BalanceDrift drift : replay.drifts) {
+            RangeReplay recheck = readOnlyTemplate.execute(status -> replayRange(
+                    runDate, drift.getAccountId(), drift.getAccountId() + 1));
+            drifts.addAll(recheck.drifts);
+        }
+
+        try {
+            writeTemplate.executeWithoutResult(status -> {
+                balanceDriftRepository.saveAll(drifts);
+                balanceCheckpointRepository.saveAll(replay.checkpoints);
+                checkpointRepository.save(ReconciliationCheckpoint.builder()
+                        .runDate(runDate)
+                        .rangeStart(fromId)
+                        .rangeEnd(toId)
+                        .accountsChecked(replay.accounts)
+                        .driftCount(drifts.size())
+                        .build());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 같은 범위를 먼저 끝냈다.
+            return new Reconciliation.Result(runDate, 0, 1, 0, 0);
+        }
+
+        if (!drifts.isEmpty()) {
+            driftCounter.increment(drifts.size());
+            log.warn("Balance drift detected: runDate={}, range=[{}, {}), drifts={}",
+                    runDate, fromId, toId, drifts.size());
+        }
+        return new Reconciliation.Result(runDate, 1, 0, replay.accounts, drifts.size());
+    }
+
+    private RangeReplay replayRange(LocalDate runDate, long fromId, long toId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime settledAt = now.minus(Duration.ofMillis(checkpointSettleMs));
+        Map<Long, AccountBalanceCheckpoint> latestCheckpoints = new LinkedHashMap<>();
+        balanceCheckpointRepository.findLatestInRange(fromId, toId).forEach(
+                checkpoint -> latestCheckpoints.put(checkpoint.getAccountId(), checkpoint));
+
+        Map<Long, Reconciliation.AccountBalance> accounts = new LinkedHashMap<>();
+        Map<Long, BalanceReplay> replays = new LinkedHashMap<>();
+        for (Reconciliation.AccountBalance account :
+                accountRepository.findBalancesInRange(fromId, toId)) {
+            AccountBalanceCheckpoint checkpoint =
+                    latestCheckpoints.get(account.getAccountId());
+            accounts.put(account.getAccountId(), account);
+            replays.put(account.getAccountId(), new BalanceReplay(checkpoint != null
+                    ? checkpoint.getBalance() : account.getInitialBalance()));
+        }
+
+        List<AccountBalanceCheckpoint> checkpoints = new ArrayList<>();
+        Consumer<Reconciliation.LedgerEntry> apply = entry -> {
+            BalanceReplay replay = replays.get(entry.getAccountId());
+            if (replay == null) {   // 범위를 읽은 뒤 생긴 계좌
+                return;
+            }
+            if (settled(entry, latestCheckpoints.get(entry.getAccountId()))) {
+                return;
+            }
+            replay.apply(entry);
+            if (checkpointInterval > 0
+                    && replay.getApplied() % checkpointInterval == 0
+                    && !entry.getTransactionAt().isAfter(settledAt)) {
+                checkpoints.add(AccountBalanceCheckpoint.builder()
+                        .accountId(entry.getAccountId())
+                        .ledgerId(entry.getId())
+                        .transactionAt(entry.getTransactionAt())
+                        .balance(replay.getBalance())
+                        .build());
+            }
+        };
+        try (Stream<Reconciliation.LedgerEntry> ledger =
+                     transactionRepository.streamLedgerInRange(fromId, toId, now, S)) {
+            ledger.forEach(apply);
+        }
+
+        List<BalanceDrift> drifts = new ArrayList<>();
+        accounts.forEach((accountId, account) -> {
+            BalanceReplay replay = replays.get(accountId);
+            if (replay.drifted(account.getBalance())) {
+                drifts.add(BalanceDrift.builder()
+                        .runDate(runDate)
+                        .accountId(accountId)
+                        .accountNumber(account.getAccountNumber())
+                        .expectedBalance(replay.getBalance())
+                        .actualBalance(account.getBalance())
+                        .firstDivergentTransactionId(
+                                replay.getFirstDivergentTransactionId())
+                        .build());
+            }
+        });
+        return new RangeReplay(accounts.size(), drifts, checkpoints);
+    }
+
+    // 체크포인트 잔액에 이미 반영된 거래인지 (거래 순서: transactionAt, id)
+    private static boolean settled(Reconciliation.LedgerEntry entry,
+                                   AccountBalanceCheckpoint checkpoint) {
+        if (checkpoint == null) {
+            return false;
+        }
+        int compare = entry.getTransactionAt().compareTo(checkpoint.getTransactionAt());
+        return compare < 0 || (compare == 0 && entry.getId() <= checkpoint.getLedgerId());
+    }
+
+    private static class RangeReplay {
+        private final int accounts;
+        private final List<BalanceDrift> drifts;
+        private final List<AccountBalanceCheckpoint> checkpoints;
+
+        RangeReplay(int accounts, List<BalanceDrift> drifts,
+                    List<AccountBalanceCheckpoint> checkpoints) {
+            this.accounts = accounts;
+            this.drifts = drifts;
+            this.checkpoints = checkpoints;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.dto.Reconciliation;
+
+import java.util.Objects;
+
+/**
+ * 계좌 하나의 성공 거래를 순서대로 적용해서 잔액을 다시 계산한다.
+ * 거래마다 계산한 잔액과 거래의 잔액 스냅샷을 비교해서 처음 어긋난 거래를 기억한다.
+ * 시작 잔액을 모르면 (initialBalance 가 없던 계좌) 첫 거래의 스냅샷에서 시작한다.
+ */
+public class BalanceReplay {
+    private Long balance;
+    private Long firstDivergentTransactionId;
+    private int applied;    // 적용한 거래 수
+
+    public BalanceReplay(Long startBalance) {
+        this.balance = startBalance;
+    }
+
+    public void apply(Reconciliation.LedgerEntry entry) {
+        applied++;
+        if (balance == null) {
+            balance = entry.getBalanceSnapShot();
+            return;
+        }
+
+        balance += entry.signedAmount();
+        if (firstDivergentTransactionId == null
+                && !Objects.equals(balance, entry.getBalanceSnapShot())) {
+            firstDivergentTransactionId = entry.getTransactionId();
+        }
+    }
+
+    /**
+     * 다시 계산한 잔액. 시작 잔액도 거래도 없으면 null
+     */
+    public Long getBalance() {
+        return balance;
+    }
+
+    public int getApplied() {
+        return applied;
+    }
+
+    public Long getFirstDivergentTransactionId() {
+        return firstDivergentTransactionId;
+    }
+
+    public boolean drifted(Long actualBalance) {
+        return balance != null
+                && (firstDivergentTransactionId != null
+                || !Objects.equals(balance, actualBalance));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.myaccount.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 항목을 bounded 큐에 모았다가 batchSize 가 차거나 flushInterval 이 지나면
+ * 전용 스레드에서 flushAction 으로 한 번에 넘긴다.
+ */
+@Slf4j
+public class BatchFlusher<T> {
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Consumer<List<T>> flushAction;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public BatchFlusher(String name, int capacity, int batchSize,
+                        Duration flushInterval, Consumer<List<T>> flushAction) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.flushAction = flushAction;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    /**
+     * 큐가 가득 찼으면 기다리지 않고 false 를 반환한다.
+     */
+    public boolean offer(T item) {
+        return running && queue.offer(item);
+    }
+
+    /**
+     * 큐에 자리가 날 때까지 기다린다.
+     */
+    public void put(T item) throws InterruptedException {
+        if (!running) {
+            throw new IllegalStateException("BatchFlusher is stopped");
+        }
+        queue.put(item);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    /**
+     * 새 항목을 받지 않고, 큐에 남은 항목을 모두 flush 한 뒤 종료한다.
+     */
+    public void stop() {
+        running = false;
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<T> batch) {
+        try {
+            flushAction.accept(new ArrayList<>(batch));
+        } catch (Exception e) {
+            log.error("Batch flush failed. size : {}", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+}
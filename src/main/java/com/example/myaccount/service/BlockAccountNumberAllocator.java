@@ -0,0 +1,64 @@
+package com.example.myaccount.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 계좌번호를 블록 단위로 예약해 두고 메모리에서 발급한다.
+ * 블록 예약(DB 시퀀스, Redis 등)만 외부 저장소를 거치고,
+ * 블록 안의 번호는 AtomicLong 으로 락 없이 발급한다.
+ */
+public abstract class BlockAccountNumberAllocator implements AccountNumberAllocator {
+    static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+    static final long LAST_ACCOUNT_NUMBER = 9_999_999_999L;
+
+    private final long blockSize;
+    private volatile Block current = new Block(0, 0);
+
+    protected BlockAccountNumberAllocator(long blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public String nextAccountNumber() {
+        while (true) {
+            Block block = current;
+            long next = block.next.getAndIncrement();
+            if (next < block.end) {
+                return String.valueOf(next);
+            }
+            refill(block);
+        }
+    }
+
+    // 블록이 소진된 경우에만 동기화한다.
+    private synchronized void refill(Block exhausted) {
+        if (current != exhausted) {
+            return; // 다른 스레드가 이미 새 블록을 받아왔다.
+        }
+
+        long start = FIRST_ACCOUNT_NUMBER + reserveBlock() * blockSize;
+        if (start + blockSize - 1 > LAST_ACCOUNT_NUMBER) {
+            throw new IllegalStateException("Account number space exhausted");
+        }
+        current = new Block(start, start + blockSize);
+    }
+
+    /**
+     * 0 부터 시작해 1 씩 증가하는 블록 번호를 반환한다.
+     * 같은 번호를 두 번 반환해서는 안 된다.
+     */
+    protected abstract long reserveBlock();
+
+    private static class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.myaccount.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 일관된 해싱으로 샤드를 고른다.
+ * 샤드마다 가상 노드를 여러 개 링에 올려서 계좌가 고르게 나뉘도록 하고,
+ * 샤드를 추가하거나 빼면 그 샤드에 해당하는 계좌만 다른 샤드로 옮겨간다.
+ */
+public class ConsistentHashLockShardRouter<T> implements LockShardRouter<T> {
+    private final NavigableMap<Long, T> ring = new TreeMap<>();
+
+    /**
+     * @param shards       샤드 이름(주소) -> 샤드. 이름이 링 위치를 정하므로 노드마다 같아야 한다.
+     * @param virtualNodes 샤드당 가상 노드 수
+     */
+    public ConsistentHashLockShardRouter(Map<String, T> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("shards must not be empty");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+
+        shards.forEach((name, shard) -> {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(name + "#" + i), shard);
+            }
+        });
+    }
+
+    @Override
+    public T route(String accountNumber) {
+        Map.Entry<Long, T> entry = ring.ceilingEntry(hash(accountNumber));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    // FNV-1a 64 비트 해시 후 비트를 섞는다. (String.hashCode 는 JVM 간 같지만 분포가 고르지 않다.)
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
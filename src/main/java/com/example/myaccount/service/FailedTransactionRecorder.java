@@ -0,0 +1,162 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.domain.Account;
+import com.example.myaccount.domain.Transaction;
+import com.example.myaccount.repository.AccountRepository;
+import com.example.myaccount.repository.TransactionRepository;
+import com.example.myaccount.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.myaccount.type.TransactionResultType.F;
+
+/**
+ * 실패 거래 기록기
+ * 요청 스레드는 큐에 넣기만 하고 바로 돌아가므로 계좌 락을 오래 잡지 않는다.
+ * 계좌 조회는 배치마다 IN 쿼리 한 번으로 처리하고, 큐가 가득 차면 기록을 버리고 집계한다.
+ */
+@Slf4j
+@Component
+public class FailedTransactionRecorder {
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchFlusher<FailedTransaction> flusher;
+
+    private final Counter enqueuedCounter;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter unresolvedCounter;
+
+    public FailedTransactionRecorder(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            TransactionIdGenerator transactionIdGenerator,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${account.ledger.failed.batch-size:100}") int batchSize,
+            @Value("${account.ledger.failed.flush-interval-ms:50}") long flushIntervalMillis,
+            @Value("${account.ledger.failed.queue-capacity:10000}") int queueCapacity) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flusher = new BatchFlusher<>("failed-ledger-writer", queueCapacity,
+                batchSize, Duration.ofMillis(flushIntervalMillis), this::flush);
+
+        enqueuedCounter = recordCounter(meterRegistry, "enqueued");
+        droppedCounter = recordCounter(meterRegistry, "dropped");
+        writtenCounter = recordCounter(meterRegistry, "written");
+        unresolvedCounter = recordCounter(meterRegistry, "unresolved");
+        Gauge.builder("account.ledger.failed.queue.size", flusher, BatchFlusher::size)
+                .description("저장 대기 중인 실패 거래 수")
+                .register(meterRegistry);
+        Gauge.builder("account.ledger.failed.queue.remaining", flusher,
+                        BatchFlusher::remainingCapacity)
+                .description("실패 거래 큐의 남은 용량")
+                .register(meterRegistry);
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("account.ledger.failed.records")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.stop();
+    }
+
+    /**
+     * 기다리지 않는다. 큐가 가득 찬 경우 false 를 반환한다.
+     */
+    public boolean record(TransactionType transactionType,
+                          String accountNumber, Long amount) {
+        boolean accepted = flusher.offer(new FailedTransaction(
+                transactionType, accountNumber, amount, LocalDateTime.now()));
+        if (accepted) {
+            enqueuedCounter.increment();
+        } else {
+            droppedCounter.increment();
+            log.warn("Failed transaction dropped. accountNumber : {}", accountNumber);
+        }
+        return accepted;
+    }
+
+    private void flush(List<FailedTransaction> batch) {
+        Set<String> accountNumbers = batch.stream()
+                .map(failed -> failed.accountNumber)
+                .collect(Collectors.toSet());
+
+        Integer written = transactionTemplate.execute(status -> {
+            Map<String, Account> accounts =
+                    accountRepository.findByAccountNumberIn(accountNumbers).stream()
+                            .collect(Collectors.toMap(Account::getAccountNumber,
+                                    Function.identity()));
+
+            List<Transaction> transactions = new ArrayList<>(batch.size());
+            for (FailedTransaction failed : batch) {
+                Account account = accounts.get(failed.accountNumber);
+                if (account == null) {
+                    unresolvedCounter.increment();  // 없는 계좌에 대한 요청
+                    continue;
+                }
+                transactions.add(Transaction.builder()
+                        .transactionType(failed.transactionType)
+                        .transactionResultType(F)
+                        .account(account)
+                        .amount(failed.amount)
+                        .balanceSnapShot(account.getBalance())
+                        .transactionId(transactionIdGenerator.nextId())
+                        .transactionAt(failed.failedAt)
+                        .build());
+            }
+            transactionRepository.saveAll(transactions);
+            return transactions.size();
+        });
+
+        if (written != null) {
+            writtenCounter.increment(written);
+        }
+    }
+
+    private static class FailedTransaction {
+        private final TransactionType transactionType;
+        private final String accountNumber;
+        private final Long amount;
+        private final LocalDateTime failedAt;
+
+        private FailedTransaction(TransactionType transactionType,
+                                  String accountNumber, Long amount,
+                                  LocalDateTime failedAt) {
+            this.transactionType = transactionType;
+            this.accountNumber = accountNumber;
+            this.amount = amount;
+            this.failedAt = failedAt;
+        }
+    }
+}
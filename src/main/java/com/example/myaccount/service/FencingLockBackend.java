@@ -0,0 +1,14 @@
+package com.example.myaccount.service;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 락을 잡을 때마다 계좌별로 단조 증가하는 펜싱 토큰을 발급할 수 있는 구현체
+ * 락이 만료된 뒤에도 작업을 계속하는 이전 소유자는 더 작은 토큰을 가지므로
+ * 잔액 UPDATE 의 토큰 조건에서 걸러진다.
+ */
+public interface FencingLockBackend extends LockBackend {
+    long nextFencingToken(String accountNumber);
+
+    CompletionStage<Long> nextFencingTokenAsync(String accountNumber);
+}
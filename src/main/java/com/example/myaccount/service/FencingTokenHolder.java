@@ -0,0 +1,36 @@
+package com.example.myaccount.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 현재 스레드가 보유한 계좌 락의 펜싱 토큰
+ * LockService 가 락을 잡을 때 넣고 풀 때 지운다.
+ * 비동기 실행에서는 AsyncTransactionExecutor 가 작업 스레드에 옮겨 넣는다.
+ */
+public final class FencingTokenHolder {
+    private static final ThreadLocal<Map<String, Long>> TOKENS =
+            ThreadLocal.withInitial(HashMap::new);
+
+    private FencingTokenHolder() {
+    }
+
+    public static void set(String accountNumber, long token) {
+        TOKENS.get().put(accountNumber, token);
+    }
+
+    /**
+     * 펜싱을 사용하지 않거나 락 없이 실행 중이면 null
+     */
+    public static Long get(String accountNumber) {
+        return TOKENS.get().get(accountNumber);
+    }
+
+    public static void clear(String accountNumber) {
+        Map<String, Long> tokens = TOKENS.get();
+        tokens.remove(accountNumber);
+        if (tokens.isEmpty()) {
+            TOKENS.remove();
+        }
+    }
+}
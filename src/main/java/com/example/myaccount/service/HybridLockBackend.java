@@ -0,0 +1,61 @@
+package com.example.myaccount.service;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 스트라이프를 먼저 잡고, 그 다음에 분산 락을 잡는다.
+ * 같은 노드의 요청끼리는 로컬에서 줄을 서므로 Redis 로 가는 경합이 노드당 하나로 줄어든다.
+ * 펜싱 토큰은 분산 락 구현체가 발급한다.
+ */
+@RequiredArgsConstructor
+public class HybridLockBackend implements FencingLockBackend {
+    private final LockBackend localBackend;
+    private final LockBackend distributedBackend;
+
+    @Override
+    public boolean tryLock(String accountNumber, long waitTime, long leaseTime,
+                           TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(waitTime);
+
+        if (!localBackend.tryLock(accountNumber, waitTime, leaseTime, unit)) {
+            return false;
+        }
+
+        boolean locked = false;
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            // 음수 lease(watchdog)는 단위를 바꾸지 않고 그대로 넘긴다.
+            locked = distributedBackend.tryLock(accountNumber, remaining,
+                    leaseTime < 0 ? leaseTime : unit.toNanos(leaseTime),
+                    TimeUnit.NANOSECONDS);
+            return locked;
+        } finally {
+            if (!locked) {
+                localBackend.unlock(accountNumber);
+            }
+        }
+    }
+
+    @Override
+    public long nextFencingToken(String accountNumber) {
+        return ((FencingLockBackend) distributedBackend).nextFencingToken(accountNumber);
+    }
+
+    @Override
+    public CompletionStage<Long> nextFencingTokenAsync(String accountNumber) {
+        return ((FencingLockBackend) distributedBackend)
+                .nextFencingTokenAsync(accountNumber);
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+        try {
+            distributedBackend.unlock(accountNumber);
+        } finally {
+            localBackend.unlock(accountNumber);
+        }
+    }
+}
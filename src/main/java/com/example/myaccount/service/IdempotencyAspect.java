@@ -0,0 +1,191 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.aop.IdempotencyScopeInterface;
+import com.example.myaccount.exception.IdempotencyConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import static com.example.myaccount.type.ErrorCode.IDEMPOTENCY_KEY_REUSED;
+import static com.example.myaccount.type.ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS;
+
+/**
+ * Idempotency-Key 헤더로 재요청을 걸러낸다.
+ * LockAopAspect 보다 먼저 실행되므로 재요청은 락과 DB 를 거치지 않는다.
+ * 성공한 응답만 요청 본문의 해시와 함께 저장하며, 같은 키로 다른 본문이 오면 거절한다.
+ *
+ * 같은 노드에서 처리 중인 요청이 있으면 그 결과를 같이 받고,
+ * 다른 노드가 처리 중이면(Redis 예약) 기다리지 않고 409 로 거절한다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    @Around("@annotation(com.example.myaccount.aop.Idempotent)")
+    public Object aroundMethod(ProceedingJoinPoint pjp) throws Throwable {
+        String key = currentKey(pjp);
+        if (key == null) {
+            return pjp.proceed();
+        }
+
+        boolean returnsFuture = CompletableFuture.class.isAssignableFrom(
+                ((MethodSignature) pjp.getSignature()).getReturnType());
+        String fingerprint = fingerprint(pjp.getArgs());
+
+        Optional<IdempotencyStore.Entry> stored = idempotencyStore.get(key);
+        if (stored.isPresent()) {
+            log.debug("Replay response for idempotency key : {}", key);
+            Object response = replay(fingerprint, stored.get());
+            return returnsFuture ? CompletableFuture.completedFuture(response) : response;
+        }
+
+        InFlight mine = new InFlight(fingerprint);
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            checkFingerprint(fingerprint, running.fingerprint);
+            log.debug("Join in-flight request for idempotency key : {}", key);
+            return returnsFuture ? running.future : await(running.future);
+        }
+
+        String token = idempotencyStore.reserve(key);
+        // 처음 조회한 뒤 다른 요청이 응답을 저장하고 예약을 풀었을 수 있으므로 예약 후 다시 확인한다.
+        Optional<IdempotencyStore.Entry> finished = idempotencyStore.get(key);
+        if (token == null || finished.isPresent()) {
+            // 다른 노드가 처리 중이거나 이미 끝났다. 끝났으면 저장된 응답을 돌려준다.
+            if (token != null) {
+                idempotencyStore.release(key, token);
+            }
+            inFlight.remove(key, mine);
+            try {
+                Object response = replay(fingerprint, finished
+                        .orElseThrow(() -> new IdempotencyConflictException(
+                                IDEMPOTENCY_REQUEST_IN_PROGRESS)));
+                mine.future.complete(response);
+                return returnsFuture ? CompletableFuture.completedFuture(response) : response;
+            } catch (IdempotencyConflictException e) {
+                mine.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable t) {
+            idempotencyStore.release(key, token);
+            inFlight.remove(key, mine);
+            mine.future.completeExceptionally(t);
+            throw t;
+        }
+
+        toFuture(result).whenComplete((response, e) -> {
+            if (e == null) {
+                idempotencyStore.put(key, fingerprint, response);
+            }
+            idempotencyStore.release(key, token);
+            inFlight.remove(key, mine);
+            if (e == null) {
+                mine.future.complete(response);
+            } else {
+                mine.future.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 요청 본문(메서드 인자)의 SHA-256
+     */
+    String fingerprint(Object[] args) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(objectMapper.writeValueAsBytes(args));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private static Object replay(String fingerprint, IdempotencyStore.Entry stored) {
+        checkFingerprint(fingerprint, stored.getFingerprint());
+        return stored.getResponse();
+    }
+
+    private static void checkFingerprint(String fingerprint, String expected) {
+        if (!fingerprint.equals(expected)) {
+            throw new IdempotencyConflictException(IDEMPOTENCY_KEY_REUSED);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> toFuture(Object result) {
+        return result instanceof CompletableFuture
+                ? (CompletableFuture<Object>) result
+                : CompletableFuture.completedFuture(result);
+    }
+
+    private static Object await(CompletableFuture<Object> running) throws Throwable {
+        try {
+            return running.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 같은 키라도 엔드포인트나 사용자가 다르면 다른 요청으로 본다.
+     */
+    private static String currentKey(ProceedingJoinPoint pjp) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey == null || idempotencyKey.isEmpty()) {
+            return null;
+        }
+
+        String scope = "-";
+        for (Object arg : pjp.getArgs()) {
+            if (arg instanceof IdempotencyScopeInterface) {
+                scope = ((IdempotencyScopeInterface) arg).getIdempotencyScope();
+                break;
+            }
+        }
+        return request.getRequestURI() + ":" + scope + ":" + idempotencyKey;
+    }
+
+    private static class InFlight {
+        private final String fingerprint;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
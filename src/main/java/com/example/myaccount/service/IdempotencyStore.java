@@ -0,0 +1,123 @@
+package com.example.myaccount.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.JsonJacksonCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 멱등 키별 응답 저장소
+ * 로컬 LRU 를 먼저 보고, 없으면 Redis 에서 찾는다. 두 곳 모두 TTL 이 지나면 사라진다.
+ * 응답과 함께 요청 본문의 해시를 저장해 같은 키로 다른 요청이 오면 알아볼 수 있게 한다.
+ *
+ * 처리 중인 키는 Redis 에 짧은 TTL 의 예약 표시를 남겨 다른 노드가 같은 키를 동시에 처리하지 않게 한다.
+ * Redis 장애 시에는 로컬 저장소만으로 동작한다.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+    private static final String KEY_PREFIX = "IDEM:";
+    private static final String RESERVE_PREFIX = "IDEM_RESERVE:";
+
+    private final RedissonClient redissonClient;
+    private final JsonJacksonCodec codec;   // 응답 클래스 정보를 같이 저장한다.
+    private final Cache<String, Entry> localCache;
+    private final long ttlSeconds;
+    private final long reserveTtlSeconds;
+
+    public IdempotencyStore(
+            RedissonClient redissonClient,
+            ObjectMapper objectMapper,
+            @Value("${account.idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${account.idempotency.local-max-size:10000}") long localMaxSize,
+            @Value("${account.idempotency.reserve-ttl-seconds:30}") long reserveTtlSeconds) {
+        this.redissonClient = redissonClient;
+        // 코덱이 default typing 등을 설정하므로 스프링의 ObjectMapper 를 복사해서 넘긴다.
+        this.codec = new JsonJacksonCodec(objectMapper.copy());
+        this.ttlSeconds = ttlSeconds;
+        this.reserveTtlSeconds = reserveTtlSeconds;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Optional<Entry> get(String key) {
+        Entry entry = localCache.getIfPresent(key);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+
+        try {
+            entry = redissonClient.<Entry>getBucket(KEY_PREFIX + key, codec).get();
+        } catch (Exception e) {
+            log.error("Failed to read idempotency key from redis", e);
+            return Optional.empty();
+        }
+        if (entry != null) {
+            localCache.put(key, entry);
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    public void put(String key, String fingerprint, Object response) {
+        Entry entry = new Entry(fingerprint, response);
+        localCache.put(key, entry);
+        try {
+            redissonClient.<Entry>getBucket(KEY_PREFIX + key, codec)
+                    .set(entry, ttlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.error("Failed to write idempotency key to redis", e);
+        }
+    }
+
+    /**
+     * 키를 처리하겠다고 예약한다. 다른 노드가 이미 예약했으면 null 을 돌려준다.
+     * 돌려받은 토큰은 release 에 넘긴다. 예약한 노드가 죽어도 TTL 이 지나면 풀린다.
+     */
+    public String reserve(String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            boolean reserved = redissonClient.<String>getBucket(
+                            RESERVE_PREFIX + key, StringCodec.INSTANCE)
+                    .trySet(token, reserveTtlSeconds, TimeUnit.SECONDS);
+            return reserved ? token : null;
+        } catch (Exception e) {
+            log.error("Failed to reserve idempotency key on redis", e);
+            return token;
+        }
+    }
+
+    /**
+     * 자신이 남긴 예약만 지운다. TTL 이 지나 다른 노드가 다시 예약했으면 그대로 둔다.
+     */
+    public void release(String key, String token) {
+        try {
+            redissonClient.<String>getBucket(RESERVE_PREFIX + key, StringCodec.INSTANCE)
+                    .compareAndSet(token, null);
+        } catch (Exception e) {
+            log.error("Failed to release idempotency key on redis", e);
+        }
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String fingerprint;     // 요청 본문의 SHA-256
+        private Object response;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.config.LatencyInjectionProperties;
+import com.example.myaccount.type.LatencyLayer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 설정된 계층에서 요청 URI 에 맞는 규칙만큼 지연시킨다.
+ * 요청 스레드가 아닌 곳(단일 writer 큐 등)에서는 endpoint 가 /** 인 규칙만 적용된다.
+ */
+@Aspect
+@Component
+@Profile("latency")
+@Slf4j
+@RequiredArgsConstructor
+public class LatencyInjectionAspect {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String ANY_ENDPOINT = "/**";
+
+    private final LatencyInjectionProperties properties;
+
+    @AfterReturning("execution(* com.example.myaccount.service.LockService.lock(..))")
+    public void afterLock() {
+        inject(LatencyLayer.LOCK);
+    }
+
+    @Before("execution(public * com.example.myaccount.service.TransactionService.*(..)) || "
+            + "execution(public * com.example.myaccount.service.AccountService.*(..))")
+    public void beforeService() {
+        inject(LatencyLayer.SERVICE);
+    }
+
+    @Before("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public void beforeRepository() {
+        inject(LatencyLayer.REPOSITORY);
+    }
+
+    void inject(LatencyLayer layer) {
+        long delayMs = delayOf(layer, currentEndpoint());
+        if (delayMs <= 0) {
+            return;
+        }
+
+        log.debug("inject {}ms latency at {}", delayMs, layer);
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    long delayOf(LatencyLayer layer, String endpoint) {
+        long delayMs = 0;
+        for (LatencyInjectionProperties.Rule rule : properties.getRules()) {
+            if (rule.getLayer() == layer && matches(rule.getEndpoint(), endpoint)) {
+                delayMs += rule.getDelayMs();
+            }
+        }
+        return delayMs;
+    }
+
+    private static boolean matches(String pattern, String endpoint) {
+        if (endpoint == null) {
+            return ANY_ENDPOINT.equals(pattern);
+        }
+        return PATH_MATCHER.match(pattern, endpoint);
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getRequestURI();
+        }
+        return null;
+    }
+}
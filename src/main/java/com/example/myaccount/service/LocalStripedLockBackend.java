@@ -0,0 +1,47 @@
+package com.example.myaccount.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계좌번호 해시로 고른 ReentrantLock 스트라이프로 락을 건다.
+ * 네트워크 왕복이 없지만 같은 JVM 안에서만 유효하다.
+ * 서로 다른 계좌가 같은 스트라이프를 공유할 수 있으므로 스트라이프 수는 넉넉히 잡는다.
+ */
+public class LocalStripedLockBackend implements LockBackend {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public LocalStripedLockBackend(int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("stripeCount must be positive");
+        }
+
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    // 로컬 락은 JVM 과 수명을 같이 하므로 leaseTime 은 사용하지 않는다.
+    @Override
+    public boolean tryLock(String accountNumber, long waitTime, long leaseTime,
+                           TimeUnit unit) throws InterruptedException {
+        return stripeFor(accountNumber).tryLock(waitTime, unit);
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+        stripeFor(accountNumber).unlock();
+    }
+
+    private ReentrantLock stripeFor(String accountNumber) {
+        int hash = accountNumber.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
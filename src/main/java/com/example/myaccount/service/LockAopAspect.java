@@ -13,20 +13,19 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @RequiredArgsConstructor
 public class LockAopAspect {
-    private  final LockService lockService;
+    private final AccountLockExecutor accountLockExecutor;
+    private final AsyncTransactionExecutor asyncTransactionExecutor;
 
     @Around("@annotation(com.example.myaccount.aop.AccountLock) && args(request)")
     public Object aroundMethod(
             ProceedingJoinPoint pjp,
             AccountLockInterface request
     ) throws Throwable {
-        // lock 취득 시도
-        lockService.lock(request.getAccountNumber());
-        try {
+        if (asyncTransactionExecutor.isEnabled()) {
+            // 락은 AsyncTransactionExecutor 가 작업 실행 시점에 잡는다.
             return pjp.proceed();
-        } finally {
-            // lock 해제
-            lockService.unLock(request.getAccountNumber());
         }
+
+        return accountLockExecutor.execute(request.getAccountNumber(), pjp::proceed);
     }
 }
@@ -0,0 +1,15 @@
+package com.example.myaccount.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 락 구현체
+ * LockService 는 설정(account.lock.mode)에 따라 주입된 구현체로 락을 건다.
+ * leaseTime 이 음수이면 만료 시간 없이 잡는다. (Redisson 은 watchdog 으로 연장)
+ */
+public interface LockBackend {
+    boolean tryLock(String accountNumber, long waitTime, long leaseTime,
+                    TimeUnit unit) throws InterruptedException;
+
+    void unlock(String accountNumber);
+}
@@ -0,0 +1,138 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.type.LockCircuitState;
+import com.example.myaccount.type.LockFailurePolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 락 서버(Redis) 호출 차단기
+ * 연속으로 failureThreshold 번 실패하면 OPEN 이 되어 openDuration 동안 락 서버를 호출하지 않는다.
+ * 그 뒤 첫 요청 하나를 HALF_OPEN 으로 보내서 성공하면 CLOSED, 실패하면 다시 OPEN 이 된다.
+ * 락 경합으로 인한 획득 실패는 서버가 정상 응답한 것이므로 성공으로 본다.
+ *
+ * 상태(account.lock.circuit.state: 0 CLOSED, 1 OPEN, 2 HALF_OPEN), 상태 전환 수,
+ * 락 서버를 호출하지 않고 넘긴 요청 수, 로컬 락으로 대체한 요청 수를 기록한다.
+ */
+@Slf4j
+public class LockCircuitBreaker {
+    @Getter
+    private final LockFailurePolicy policy;
+    @Getter
+    private final LockBackend fallbackBackend;     // FAIL_OPEN_TO_LOCAL 에서 사용
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private final AtomicReference<LockCircuitState> state =
+            new AtomicReference<>(LockCircuitState.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+    private final Counter fallbackCounter;
+
+    public LockCircuitBreaker(LockFailurePolicy policy, LockBackend fallbackBackend,
+                              int failureThreshold, long openDurationMs,
+                              MeterRegistry meterRegistry) {
+        if (policy == LockFailurePolicy.FAIL_OPEN_TO_LOCAL && fallbackBackend == null) {
+            throw new IllegalArgumentException("FAIL_OPEN_TO_LOCAL needs a fallback backend");
+        }
+
+        this.policy = policy;
+        this.fallbackBackend = fallbackBackend;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("account.lock.circuit.state", state, s -> s.get().ordinal())
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("account.lock.circuit.rejected")
+                .register(meterRegistry);
+        fallbackCounter = Counter.builder("account.lock.circuit.fallback")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 락 서버를 호출해도 되는지 확인한다.
+     * OPEN 이 끝난 뒤 처음 호출한 요청은 HALF_OPEN 탐색 요청이 되며,
+     * 결과를 onSuccess/onFailure 로 알려야 한다.
+     */
+    public boolean tryAcquirePermission() {
+        LockCircuitState current = state.get();
+        if (current == LockCircuitState.CLOSED) {
+            return true;
+        }
+
+        if (current == LockCircuitState.OPEN
+                && nanoTime() - openedAt >= openDurationNanos
+                && transition(LockCircuitState.OPEN, LockCircuitState.HALF_OPEN)) {
+            return true;
+        }
+
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        LockCircuitState current = state.get();
+        if (current != LockCircuitState.CLOSED) {
+            transition(current, LockCircuitState.CLOSED);
+        }
+    }
+
+    public void onFailure() {
+        LockCircuitState current = state.get();
+        if (current == LockCircuitState.HALF_OPEN
+                || (current == LockCircuitState.CLOSED
+                && consecutiveFailures.incrementAndGet() >= failureThreshold)) {
+            openedAt = nanoTime();
+            transition(current, LockCircuitState.OPEN);
+        }
+    }
+
+    /**
+     * 락 서버 상태를 판단할 수 없는 호출(인터럽트 등)
+     * HALF_OPEN 탐색 요청이었다면 다음 요청이 다시 탐색하도록 OPEN 으로 돌린다.
+     */
+    public void onIgnored() {
+        state.compareAndSet(LockCircuitState.HALF_OPEN, LockCircuitState.OPEN);
+    }
+
+    public boolean isOpen() {
+        return state.get() != LockCircuitState.CLOSED;
+    }
+
+    public LockCircuitState getState() {
+        return state.get();
+    }
+
+    public void recordFallback() {
+        fallbackCounter.increment();
+    }
+
+    private boolean transition(LockCircuitState from, LockCircuitState to) {
+        if (!state.compareAndSet(from, to)) {
+            return false;
+        }
+
+        if (to == LockCircuitState.CLOSED) {
+            consecutiveFailures.set(0);
+        }
+        log.warn("Lock circuit {} -> {}", from, to);
+        meterRegistry.counter("account.lock.circuit.transitions",
+                "state", to.name()).increment();
+        return true;
+    }
+
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+}
@@ -2,45 +2,306 @@ package com.example.myaccount.service;
 
 import com.example.myaccount.exception.AccountException;
 import com.example.myaccount.type.ErrorCode;
-import lombok.RequiredArgsConstructor;
+import com.example.myaccount.type.LockFailurePolicy;
+import com.example.myaccount.type.LockLeaseMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 계좌 락 획득/해제
+ * 획득 대기 시간(account.lock.acquire), 보유 시간(account.lock.hold),
+ * 계좌번호 해시 버킷별 획득 실패 수(account.lock.failures)를 기록한다.
+ *
+ * WATCHDOG 모드는 lease 없이 락을 잡고, 보유 중에는 Redisson watchdog 이 만료를 연장한다.
+ * 노드가 죽으면 watchdog timeout 뒤에 풀린다.
+ * 펜싱을 켜면 락을 잡을 때마다 토큰을 발급해서 FencingTokenHolder 에 넣는다.
+ *
+ * 락 서버 오류는 LockCircuitBreaker 에 기록하고 정책에 따라 처리한다.
+ * FAIL_CLOSED 는 요청을 실패시키고, FAIL_OPEN_TO_LOCAL 은 로컬 락으로 대신 잡는다.
+ * 로컬 락으로 잡은 계좌는 해제도 로컬 락으로 한다.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class LockService {
-    private final RedissonClient redissonClient;
+    // 1초 동안 획득을 시도하고, FIXED 모드에서는 15초 동안 락을 건다.
+    private static final long WAIT_TIME_SECONDS = 1;
+    private static final long LEASE_TIME_SECONDS = 15;
+    private static final long WATCHDOG_LEASE = -1;
+
+    private final LockBackend lockBackend;   // account.lock.mode 에 따라 주입
+    private final LockCircuitBreaker circuitBreaker;
+    // 현재 스레드가 대체 락으로 잡은 계좌 (동기 락은 잡은 스레드에서 푼다)
+    private final ThreadLocal<Set<String>> fallbackLocks =
+            ThreadLocal.withInitial(HashSet::new);
+    private final MeterRegistry meterRegistry;
+    private final int failureBuckets;       // 계좌번호 대신 버킷을 태그로 써서 카디널리티를 제한한다.
+    private final Timer acquiredTimer;
+    private final Timer failedTimer;
+    private final Timer errorTimer;
+    private final Timer holdTimer;
+    // 계좌 락은 한 번에 한 소유자만 가지므로 계좌번호로 획득 시각을 찾는다.
+    private final Map<String, Long> lockedAt = new ConcurrentHashMap<>();
+
+    @Value("${account.lock.lease-mode:FIXED}")
+    private LockLeaseMode leaseMode = LockLeaseMode.FIXED;
+
+    // 로컬 락은 만료되지 않으므로 FencingLockBackend(REDIS, HYBRID)에서만 토큰을 발급한다.
+    @Value("${account.lock.fencing.enabled:false}")
+    private boolean fencingEnabled = false;
+
+    public LockService(
+            LockBackend lockBackend,
+            LockCircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${account.lock.metrics.failure-buckets:64}") int failureBuckets) {
+        this.lockBackend = lockBackend;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.failureBuckets = failureBuckets;
+        acquiredTimer = acquireTimer(meterRegistry, "acquired");
+        failedTimer = acquireTimer(meterRegistry, "failed");
+        errorTimer = acquireTimer(meterRegistry, "error");
+        holdTimer = Timer.builder("account.lock.hold")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Timer acquireTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("account.lock.acquire")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     public void lock(String accountNumber) {
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber)); // lock key
         log.debug("Trying lock for accountNumber : {}", accountNumber);
 
-        try {
-            // 3초 동안 락을 건다.
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS); // 락 획득 시도
+        long startedAt = System.nanoTime();
+        if (!circuitBreaker.tryAcquirePermission()) {
+            lockWithFallback(accountNumber, startedAt);
+            return;
+        }
 
-            if (!isLock) {
-                log.error("=========Lock acquisition failed");
-                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
-            }
-        } catch (AccountException e) {
-            throw e;
-        } catch (Exception e) {
+        boolean isLock;
+        try {
+            isLock = lockBackend.tryLock(accountNumber,
+                    WAIT_TIME_SECONDS, leaseTime(), TimeUnit.SECONDS); // 락 획득 시도
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.onIgnored();     // 락 서버 상태와 무관하다.
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        } catch (RuntimeException e) {
+            errorTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            circuitBreaker.onFailure();
             log.error("Redis lock failed", e);
+            lockWithFallback(accountNumber, startedAt);
+            return;
+        }
+        circuitBreaker.onSuccess();
+
+        if (!isLock) {
+            recordFailure(accountNumber, startedAt);
+            log.error("=========Lock acquisition failed");
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        recordAcquired(accountNumber, startedAt);
+        holdFencingToken(accountNumber);
+    }
+
+    private void lockWithFallback(String accountNumber, long startedAt) {
+        if (circuitBreaker.getPolicy() != LockFailurePolicy.FAIL_OPEN_TO_LOCAL) {
+            throw new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE);
+        }
+
+        circuitBreaker.recordFallback();
+        boolean isLock;
+        try {
+            isLock = circuitBreaker.getFallbackBackend().tryLock(accountNumber,
+                    WAIT_TIME_SECONDS, leaseTime(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
         }
+
+        if (!isLock) {
+            recordFailure(accountNumber, startedAt);
+            log.error("=========Fallback lock acquisition failed");
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        recordAcquired(accountNumber, startedAt);
+        fallbackLocks.get().add(accountNumber);    // 펜싱 토큰 없이 처리한다.
     }
 
     public void unLock(String accountNumber) {
         log.debug("Unlock for accountNumber : {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        FencingTokenHolder.clear(accountNumber);
+        recordHold(accountNumber);
+
+        Set<String> locked = fallbackLocks.get();
+        if (locked.remove(accountNumber)) {
+            if (locked.isEmpty()) {
+                fallbackLocks.remove();
+            }
+            circuitBreaker.getFallbackBackend().unlock(accountNumber);
+            return;
+        }
+
+        try {
+            lockBackend.unlock(accountNumber);
+        } catch (IllegalMonitorStateException e) {
+            // lease 가 먼저 만료된 경우이다. 락 서버는 정상이다.
+            log.warn("Lock already released. accountNumber : {}", accountNumber);
+        } catch (RuntimeException e) {
+            // 해제하지 못한 락은 lease 또는 watchdog timeout 뒤에 풀린다.
+            circuitBreaker.onFailure();
+            log.error("Redis unlock failed", e);
+        }
+    }
+
+    private long leaseTime() {
+        return leaseMode == LockLeaseMode.WATCHDOG ? WATCHDOG_LEASE : LEASE_TIME_SECONDS;
+    }
+
+    private boolean fencing() {
+        return fencingEnabled && lockBackend instanceof FencingLockBackend;
+    }
+
+    private void holdFencingToken(String accountNumber) {
+        if (!fencing()) {
+            return;
+        }
+
+        try {
+            FencingTokenHolder.set(accountNumber,
+                    ((FencingLockBackend) lockBackend).nextFencingToken(accountNumber));
+        } catch (RuntimeException e) {
+            log.error("Fencing token issue failed", e);
+            circuitBreaker.onFailure();
+            unLock(accountNumber);
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    private void recordAcquired(String accountNumber, long startedAt) {
+        long now = System.nanoTime();
+        acquiredTimer.record(now - startedAt, TimeUnit.NANOSECONDS);
+        lockedAt.put(accountNumber, now);
+    }
+
+    private void recordFailure(String accountNumber, long startedAt) {
+        failedTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("account.lock.failures",
+                "bucket", String.valueOf(failureBucket(accountNumber))).increment();
+    }
+
+    private void recordHold(String accountNumber) {
+        Long acquiredAt = lockedAt.remove(accountNumber);
+        if (acquiredAt != null) {
+            holdTimer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    int failureBucket(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), failureBuckets);
+    }
+
+    /**
+     * FAIL_OPEN_TO_LOCAL 에서 차단기가 열려 있으면 스레드 소유인 로컬 락으로 대신 잡아야 하므로
+     * 비동기 락을 쓰지 않는다.
+     */
+    public boolean supportsAsync() {
+        return lockBackend instanceof AsyncLockBackend
+                && !(circuitBreaker.getPolicy() == LockFailurePolicy.FAIL_OPEN_TO_LOCAL
+                && circuitBreaker.isOpen());
+    }
+
+    /**
+     * 스레드를 점유하지 않고 락을 기다린다. supportsAsync() 인 경우에만 사용한다.
+     * 펜싱 토큰을 돌려주며, 펜싱을 사용하지 않으면 null 이다.
+     * 락 서버 오류는 LOCK_SERVICE_UNAVAILABLE 로 실패하며, shouldFallBackToLock 이면 lock() 으로 다시 잡는다.
+     * 작업 스레드에는 호출자가 FencingTokenHolder 로 넣어야 한다.
+     */
+    public CompletableFuture<Long> lockAsync(String accountNumber, long ownerId) {
+        log.debug("Trying async lock for accountNumber : {}", accountNumber);
+
+        long startedAt = System.nanoTime();
+        if (!circuitBreaker.tryAcquirePermission()) {
+            CompletableFuture<Long> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(
+                    new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE));
+            return rejected;
+        }
+
+        return ((AsyncLockBackend) lockBackend).tryLockAsync(accountNumber,
+                        WAIT_TIME_SECONDS, leaseTime(), TimeUnit.SECONDS, ownerId)
+                .toCompletableFuture()
+                .handle((isLock, e) -> {
+                    if (e != null) {
+                        errorTimer.record(System.nanoTime() - startedAt,
+                                TimeUnit.NANOSECONDS);
+                        circuitBreaker.onFailure();
+                        log.error("Redis lock failed", e);
+                        throw new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE);
+                    }
+                    circuitBreaker.onSuccess();
+                    return isLock;
+                })
+                .thenCompose(isLock -> {
+                    if (!isLock) {
+                        recordFailure(accountNumber, startedAt);
+                        log.error("=========Lock acquisition failed");
+                        throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                    }
+                    recordAcquired(accountNumber, startedAt);
+                    return nextFencingTokenAsync(accountNumber, ownerId);
+                });
+    }
+
+    /**
+     * lockAsync 가 락 서버 오류로 실패했을 때 lock() 으로 다시 잡아야 하는지 확인한다.
+     * FAIL_OPEN_TO_LOCAL 에서는 lock() 이 차단기 상태에 따라 락 서버나 로컬 락으로 잡는다.
+     * 로컬 락은 스레드 소유이므로 작업을 실행할 스레드에서 호출해야 한다.
+     */
+    public boolean shouldFallBackToLock(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null
+                ? e.getCause() : e;
+        return circuitBreaker.getPolicy() == LockFailurePolicy.FAIL_OPEN_TO_LOCAL
+                && cause instanceof AccountException
+                && ((AccountException) cause).getErrorCode()
+                == ErrorCode.LOCK_SERVICE_UNAVAILABLE;
+    }
+
+    private CompletableFuture<Long> nextFencingTokenAsync(String accountNumber,
+                                                          long ownerId) {
+        if (!fencing()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return ((FencingLockBackend) lockBackend).nextFencingTokenAsync(accountNumber)
+                .toCompletableFuture()
+                .exceptionally(e -> {
+                    log.error("Fencing token issue failed", e);
+                    circuitBreaker.onFailure();
+                    unLockAsync(accountNumber, ownerId);
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                });
     }
 
-    private static String getLockKey(String accountNumber) {
-        return "ACLK:" + accountNumber;
+    public CompletableFuture<Void> unLockAsync(String accountNumber, long ownerId) {
+        log.debug("Async unlock for accountNumber : {}", accountNumber);
+        recordHold(accountNumber);
+        return ((AsyncLockBackend) lockBackend).unlockAsync(accountNumber, ownerId)
+                .toCompletableFuture();
     }
 }
@@ -0,0 +1,9 @@
+package com.example.myaccount.service;
+
+/**
+ * 계좌번호로 락을 잡을 샤드를 고른다.
+ * 같은 계좌번호는 샤드 구성이 바뀌지 않는 한 항상 같은 샤드로 가야 한다.
+ */
+public interface LockShardRouter<T> {
+    T route(String accountNumber);
+}
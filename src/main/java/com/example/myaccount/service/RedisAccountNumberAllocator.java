@@ -0,0 +1,24 @@
+package com.example.myaccount.service;
+
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+
+/**
+ * Redis 의 RAtomicLong 으로 블록을 예약한다.
+ */
+public class RedisAccountNumberAllocator extends BlockAccountNumberAllocator {
+    private static final String BLOCK_KEY = "ACNO:BLOCK";
+
+    private final RAtomicLong blockCounter;
+
+    public RedisAccountNumberAllocator(RedissonClient redissonClient,
+                                       long blockSize) {
+        super(blockSize);
+        this.blockCounter = redissonClient.getAtomicLong(BLOCK_KEY);
+    }
+
+    @Override
+    protected long reserveBlock() {
+        return blockCounter.getAndIncrement();
+    }
+}
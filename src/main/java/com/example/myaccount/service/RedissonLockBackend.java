@@ -0,0 +1,58 @@
+package com.example.myaccount.service;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RedissonClient;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class RedissonLockBackend implements AsyncLockBackend, FencingLockBackend {
+    private final RedissonClient redissonClient;
+
+    @Override
+    public boolean tryLock(String accountNumber, long waitTime, long leaseTime,
+                           TimeUnit unit) throws InterruptedException {
+        return redissonClient.getLock(getLockKey(accountNumber))
+                .tryLock(waitTime, leaseTime, unit);
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+    }
+
+    @Override
+    public CompletionStage<Boolean> tryLockAsync(String accountNumber, long waitTime,
+                                                 long leaseTime, TimeUnit unit,
+                                                 long ownerId) {
+        return redissonClient.getLock(getLockKey(accountNumber))
+                .tryLockAsync(waitTime, leaseTime, unit, ownerId);
+    }
+
+    @Override
+    public CompletionStage<Void> unlockAsync(String accountNumber, long ownerId) {
+        return redissonClient.getLock(getLockKey(accountNumber))
+                .unlockAsync(ownerId);
+    }
+
+    @Override
+    public long nextFencingToken(String accountNumber) {
+        return redissonClient.getAtomicLong(getFencingTokenKey(accountNumber))
+                .incrementAndGet();
+    }
+
+    @Override
+    public CompletionStage<Long> nextFencingTokenAsync(String accountNumber) {
+        return redissonClient.getAtomicLong(getFencingTokenKey(accountNumber))
+                .incrementAndGetAsync();
+    }
+
+    private static String getFencingTokenKey(String accountNumber) {
+        return "ACFT:" + accountNumber;
+    }
+
+    private static String getLockKey(String accountNumber) {
+        return "ACLK:" + accountNumber;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.repository.AccountRepository;
+
+/**
+ * DB 시퀀스(account_number_block_seq)로 블록을 예약한다.
+ */
+public class SequenceAccountNumberAllocator extends BlockAccountNumberAllocator {
+    private final AccountRepository accountRepository;
+
+    public SequenceAccountNumberAllocator(AccountRepository accountRepository,
+                                          long blockSize) {
+        super(blockSize);
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    protected long reserveBlock() {
+        return accountRepository.nextAccountNumberBlock();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.myaccount.service;
+
+import org.redisson.api.RedissonClient;
+
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌번호에 따라 여러 Redis 노드 중 하나에서 락을 잡는다.
+ * 한 계좌의 락과 펜싱 토큰은 항상 같은 노드에 있으므로 노드 수만큼 락 처리량이 늘어난다.
+ * 샤드 구성을 바꾸면 옮겨간 계좌의 펜싱 토큰이 새 노드에서 다시 시작하므로
+ * 펜싱을 쓰는 경우 토큰 카운터를 옮긴 뒤에 구성을 바꿔야 한다.
+ */
+public class ShardedLockBackend implements AsyncLockBackend, FencingLockBackend {
+    private final LockShardRouter<RedissonLockBackend> router;
+    private final Collection<RedissonClient> shardClients;
+
+    public ShardedLockBackend(LockShardRouter<RedissonLockBackend> router,
+                              Collection<RedissonClient> shardClients) {
+        this.router = router;
+        this.shardClients = shardClients;
+    }
+
+    @Override
+    public boolean tryLock(String accountNumber, long waitTime, long leaseTime,
+                           TimeUnit unit) throws InterruptedException {
+        return router.route(accountNumber).tryLock(accountNumber, waitTime, leaseTime, unit);
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+        router.route(accountNumber).unlock(accountNumber);
+    }
+
+    @Override
+    public CompletionStage<Boolean> tryLockAsync(String accountNumber, long waitTime,
+                                                 long leaseTime, TimeUnit unit,
+                                                 long ownerId) {
+        return router.route(accountNumber)
+                .tryLockAsync(accountNumber, waitTime, leaseTime, unit, ownerId);
+    }
+
+    @Override
+    public CompletionStage<Void> unlockAsync(String accountNumber, long ownerId) {
+        return router.route(accountNumber).unlockAsync(accountNumber, ownerId);
+    }
+
+    @Override
+    public long nextFencingToken(String accountNumber) {
+        return router.route(accountNumber).nextFencingToken(accountNumber);
+    }
+
+    @Override
+    public CompletionStage<Long> nextFencingTokenAsync(String accountNumber) {
+        return router.route(accountNumber).nextFencingTokenAsync(accountNumber);
+    }
+
+    // @Bean 의 destroy 메서드로 호출된다.
+    public void shutdown() {
+        shardClients.forEach(RedissonClient::shutdown);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.myaccount.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 시간순으로 증가하는 64비트 id
+ * [41비트 밀리초 (2022-01-01 기준)][10비트 노드 id][12비트 순번]
+ * 노드마다 밀리초당 4096 개까지 발급하며, 다 쓰면 다음 밀리초를 기다린다.
+ * 시계가 뒤로 가면 마지막으로 사용한 시각을 계속 사용한다.
+ */
+@Component
+public class SnowflakeTransactionIdGenerator implements TransactionIdGenerator {
+    static final long EPOCH_MILLIS = 1640995200000L;    // 2022-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private long lastMillis = -1L;
+    private long sequence;
+
+    public SnowflakeTransactionIdGenerator(
+            @Value("${account.transaction.id.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                    "nodeId must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public synchronized long nextId() {
+        long now = Math.max(currentMillis(), lastMillis);
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                now = waitNextMillis(lastMillis);
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+
+        return ((now - EPOCH_MILLIS) << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    private long waitNextMillis(long lastMillis) {
+        long now = currentMillis();
+        while (now <= lastMillis) {
+            Thread.onSpinWait();
+            now = currentMillis();
+        }
+        return now;
+    }
+
+    protected long currentMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.dto.UseBalance;
+import com.example.myaccount.dto.UseBalanceBatch;
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.type.ErrorCode;
+import com.example.myaccount.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 잔액 일괄 사용
+ * 요청을 계좌번호별로 묶고, 계좌번호 순서대로 한 계좌씩 락을 잡아서
+ * 그 계좌의 요청 전체를 하나의 DB 트랜잭션으로 처리한다.
+ * 계좌 단위로 실패해도 다른 계좌의 처리는 계속된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionBatchService {
+    private final TransactionService transactionService;
+    private final AccountLockExecutor accountLockExecutor;
+
+    public UseBalanceBatch.Response useBalanceBatch(List<UseBalance.Request> requests) {
+        // 항상 같은 순서로 락을 잡도록 계좌번호로 정렬한다.
+        Map<String, List<Integer>> indexesByAccount = new TreeMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByAccount.computeIfAbsent(requests.get(i).getAccountNumber(),
+                    accountNumber -> new ArrayList<>()).add(i);
+        }
+
+        UseBalanceBatch.Item[] results = new UseBalanceBatch.Item[requests.size()];
+        indexesByAccount.forEach((accountNumber, indexes) -> {
+            List<UseBalance.Request> group = indexes.stream()
+                    .map(requests::get)
+                    .collect(Collectors.toList());
+
+            List<UseBalanceBatch.Item> groupResults =
+                    useBalanceGroup(accountNumber, group);
+            for (int i = 0; i < indexes.size(); i++) {
+                UseBalanceBatch.Item item = groupResults.get(i);
+                item.setIndex(indexes.get(i));
+                results[indexes.get(i)] = item;
+
+                if (item.isFailed()) {
+                    transactionService.saveFailedTransaction(TransactionType.USE,
+                            accountNumber, item.getAmount());
+                }
+            }
+        });
+
+        return UseBalanceBatch.Response.builder()
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private List<UseBalanceBatch.Item> useBalanceGroup(
+            String accountNumber, List<UseBalance.Request> group) {
+        try {
+            return accountLockExecutor.execute(accountNumber,
+                    () -> transactionService.useBalances(accountNumber, group));
+        } catch (AccountException e) {
+            // 락 획득 실패, 계좌 없음 등 계좌 전체가 실패한 경우
+            log.error("Failed to use balance. accountNumber : {}", accountNumber);
+            return failAll(group, e.getErrorCode());
+        } catch (Throwable t) {
+            log.error("Failed to use balance. accountNumber : {}", accountNumber, t);
+            return failAll(group, ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static List<UseBalanceBatch.Item> failAll(
+            List<UseBalance.Request> group, ErrorCode errorCode) {
+        return group.stream()
+                .map(request -> UseBalanceBatch.Item.failure(request, errorCode))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.dto.TransactionHistory;
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.repository.AccountRepository;
+import com.example.myaccount.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.example.myaccount.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.myaccount.type.ErrorCode.INVALID_REQUEST;
+
+/**
+ * 계좌별 거래 내역 조회
+ * 1. (transactionAt, id) 키셋 페이지 조회
+ * 2. 전체 내역 스트리밍 내보내기
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryService {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+
+    public Long getAccountId(String accountNumber) {
+        return accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+    }
+
+    /**
+     * 다음 페이지 유무를 알기 위해 size + 1 건을 조회한다. (count 쿼리 없음)
+     */
+    public TransactionHistory.Response getTransactionHistory(
+            String accountNumber, String cursor, int size) {
+        Long accountId = getAccountId(accountNumber);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<TransactionHistory.Item> items;
+        if (cursor == null || cursor.isEmpty()) {
+            items = transactionRepository.findHistory(accountId, limit);
+        } else {
+            TransactionHistory.Cursor after = TransactionHistory.Cursor.decode(cursor)
+                    .orElseThrow(() -> new AccountException(INVALID_REQUEST));
+            items = transactionRepository.findHistoryAfter(accountId,
+                    after.getTransactionAt(), after.getId(), limit);
+        }
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            nextCursor = TransactionHistory.Cursor.from(
+                    items.get(pageSize - 1)).encode();
+        }
+        return TransactionHistory.Response.builder()
+                .transactions(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * 엔티티를 영속성 컨텍스트에 올리지 않고 fetch size 단위로 읽으므로
+     * 내역 크기와 관계없이 메모리 사용량이 일정하다.
+     */
+    @Transactional(readOnly = true)
+    public void exportTransactionHistory(Long accountId,
+                                         Consumer<TransactionHistory.Item> consumer) {
+        try (Stream<TransactionHistory.Item> items =
+                     transactionRepository.streamHistory(accountId)) {
+            items.forEach(consumer);
+        }
+    }
+}
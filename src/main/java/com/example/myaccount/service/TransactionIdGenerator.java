@@ -0,0 +1,9 @@
+package com.example.myaccount.service;
+
+/**
+ * 거래 id 발급기
+ * 노드 사이에 중복되지 않는 64비트 id 를 발급한다.
+ */
+public interface TransactionIdGenerator {
+    long nextId();
+}
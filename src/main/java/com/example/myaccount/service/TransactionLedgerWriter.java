@@ -0,0 +1,239 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.domain.LedgerDeadLetter;
+import com.example.myaccount.domain.Transaction;
+import com.example.myaccount.repository.LedgerDeadLetterRepository;
+import com.example.myaccount.repository.TransactionRepository;
+import com.example.myaccount.type.LedgerWriteMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * 거래 원장(Transaction) 저장기
+ * SYNC 가 아닌 모드에서는 잔액 변경 트랜잭션이 커밋된 뒤에 원장을 큐에 넣고,
+ * 모아서 한 트랜잭션으로 배치 insert 한다. (hibernate.jdbc.batch_size)
+ * 잔액 변경이 롤백되면 원장도 큐에 들어가지 않는다.
+ * WRITE_BEHIND 는 배치 커밋 전에 프로세스가 죽으면 원장이 유실될 수 있고,
+ * GROUP_COMMIT 은 배치 커밋을 ack-timeout-ms 까지 기다린 뒤 응답한다.
+ *
+ * 잔액 변경은 이미 커밋되었으므로 저장에 실패한 원장은 버리지 않는다.
+ * 배치가 실패하면 한 건씩 나눠 다시 저장해서 문제 있는 거래가 같은 배치의 다른 거래까지
+ * 실패시키지 않게 하고, 재시도해도 저장하지 못한 거래는 LedgerDeadLetter 로 남긴다.
+ * 같은 이유로 GROUP_COMMIT 에서 기다리다 시간이 지나도 요청을 실패로 응답하지 않는다.
+ */
+@Slf4j
+@Component
+public class TransactionLedgerWriter {
+    private final TransactionRepository transactionRepository;
+    private final LedgerDeadLetterRepository ledgerDeadLetterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerWriteMode writeMode;
+    private final long ackTimeoutMillis;
+    private final int retryMaxAttempts;
+    private final long retryBackoffMillis;
+    private final BatchFlusher<PendingTransaction> flusher;
+
+    private final Counter retriedCounter;
+    private final Counter deadLetterCounter;
+    private final Counter ackTimeoutCounter;
+
+    public TransactionLedgerWriter(
+            TransactionRepository transactionRepository,
+            LedgerDeadLetterRepository ledgerDeadLetterRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${account.ledger.write-mode:SYNC}") LedgerWriteMode writeMode,
+            @Value("${account.ledger.batch-size:50}") int batchSize,
+            @Value("${account.ledger.flush-interval-ms:10}") long flushIntervalMillis,
+            @Value("${account.ledger.queue-capacity:10000}") int queueCapacity,
+            @Value("${account.ledger.ack-timeout-ms:5000}") long ackTimeoutMillis,
+            @Value("${account.ledger.retry.max-attempts:3}") int retryMaxAttempts,
+            @Value("${account.ledger.retry.backoff-ms:100}") long retryBackoffMillis) {
+        this.transactionRepository = transactionRepository;
+        this.ledgerDeadLetterRepository = ledgerDeadLetterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writeMode = writeMode;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+        this.retryMaxAttempts = retryMaxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.flusher = new BatchFlusher<>("ledger-writer", queueCapacity,
+                batchSize, Duration.ofMillis(flushIntervalMillis), this::flush);
+        this.retriedCounter = Counter.builder("account.ledger.retried")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("account.ledger.dead_letter")
+                .register(meterRegistry);
+        this.ackTimeoutCounter = Counter.builder("account.ledger.ack_timeout")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (writeMode != LedgerWriteMode.SYNC) {
+            flusher.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.stop();
+    }
+
+    public Transaction write(Transaction transaction) {
+        if (writeMode == LedgerWriteMode.SYNC) {
+            return transactionRepository.save(transaction);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 잔액 변경이 커밋되어 계좌 row 락이 풀린 뒤에 원장을 넣는다.
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            enqueue(transaction);
+                        }
+                    });
+        } else {
+            enqueue(transaction);
+        }
+        return transaction;
+    }
+
+    /**
+     * 쓰기 모드와 관계없이 호출한 트랜잭션 안에서 바로 저장하고 flush 한다.
+     * 제약 조건 위반은 커밋 전에 DataIntegrityViolationException 으로 던진다.
+     */
+    public Transaction writeNow(Transaction transaction) {
+        return transactionRepository.saveAndFlush(transaction);
+    }
+
+    private void enqueue(Transaction transaction) {
+        PendingTransaction pending = new PendingTransaction(transaction);
+        try {
+            flusher.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing ledger", e);
+        }
+        if (writeMode == LedgerWriteMode.GROUP_COMMIT) {
+            awaitCommit(pending);
+        }
+    }
+
+    /**
+     * 잔액 변경은 이미 커밋되었으므로 시간이 지나도 예외를 던지지 않는다.
+     * 원장은 큐에 남아 재시도되거나 LedgerDeadLetter 로 저장된다.
+     */
+    private void awaitCommit(PendingTransaction pending) {
+        try {
+            pending.committed.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ackTimeoutCounter.increment();
+        } catch (ExecutionException | TimeoutException e) {
+            ackTimeoutCounter.increment();
+            log.warn("Ledger batch commit not acknowledged in time. transactionId : {}",
+                    pending.transaction.getTransactionId());
+        }
+    }
+
+    private void flush(List<PendingTransaction> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    transactionRepository.saveAll(batch.stream()
+                            .map(pending -> pending.transaction)
+                            .collect(Collectors.toList())));
+            batch.forEach(pending -> pending.committed.complete(null));
+        } catch (RuntimeException e) {
+            log.warn("Failed to write ledger batch, retrying one by one. size : {}",
+                    batch.size(), e);
+            batch.forEach(this::writeOne);
+        }
+    }
+
+    /**
+     * 제약 조건 위반은 다시 시도해도 같으므로 바로 LedgerDeadLetter 로 보낸다.
+     * 그 밖의 오류는 backoff 후 retry.max-attempts 번까지 다시 저장한다.
+     * 재시도하는 동안 flusher 스레드가 멈추므로 큐가 차면 호출하는 쪽이 기다린다.
+     */
+    private void writeOne(PendingTransaction pending) {
+        RuntimeException lastError = null;
+        for (int attempt = 1; attempt <= retryMaxAttempts; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        transactionRepository.save(pending.transaction));
+                pending.committed.complete(null);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                lastError = e;
+                break;
+            } catch (RuntimeException e) {
+                lastError = e;
+                retriedCounter.increment();
+                if (attempt < retryMaxAttempts && !sleep(retryBackoffMillis * attempt)) {
+                    break;
+                }
+            }
+        }
+        deadLetter(pending, lastError);
+    }
+
+    private void deadLetter(PendingTransaction pending, RuntimeException cause) {
+        deadLetterCounter.increment();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    ledgerDeadLetterRepository.save(
+                            LedgerDeadLetter.from(pending.transaction, cause)));
+            log.error("Ledger moved to dead letter. transactionId : {}",
+                    pending.transaction.getTransactionId(), cause);
+        } catch (RuntimeException e) {
+            // DB 를 쓸 수 없으면 다시 반영할 수 있도록 원장 내용을 모두 남긴다.
+            Transaction t = pending.transaction;
+            log.error("Failed to write ledger dead letter. accountId : {}, type : {}, "
+                            + "result : {}, amount : {}, balanceSnapShot : {}, "
+                            + "transactionId : {}, originalTransactionId : {}, "
+                            + "transactionAt : {}",
+                    t.getAccount().getId(), t.getTransactionType(),
+                    t.getTransactionResultType(), t.getAmount(), t.getBalanceSnapShot(),
+                    t.getTransactionId(), t.getOriginalTransactionId(),
+                    t.getTransactionAt(), e);
+        }
+        pending.committed.complete(null);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class PendingTransaction {
+        private final Transaction transaction;
+        private final CompletableFuture<Void> committed = new CompletableFuture<>();
+
+        private PendingTransaction(Transaction transaction) {
+            this.transaction = transaction;
+        }
+    }
+}
@@ -4,24 +4,34 @@ import com.example.myaccount.domain.Account;
 import com.example.myaccount.domain.AccountStatus;
 import com.example.myaccount.domain.AccountUser;
 import com.example.myaccount.domain.Transaction;
+import com.example.myaccount.domain.TransactionId;
 import com.example.myaccount.dto.TransactionDto;
+import com.example.myaccount.dto.UseBalance;
+import com.example.myaccount.dto.UseBalanceBatch;
 import com.example.myaccount.exception.AccountException;
 import com.example.myaccount.repository.AccountRepository;
 import com.example.myaccount.repository.AccountUserRepository;
 import com.example.myaccount.repository.TransactionRepository;
+import com.example.myaccount.type.TransactionExecutionMode;
 import com.example.myaccount.type.TransactionResultType;
 import com.example.myaccount.type.TransactionType;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
 
 import static com.example.myaccount.type.ErrorCode.*;
-import static com.example.myaccount.type.TransactionResultType.F;
 import static com.example.myaccount.type.TransactionResultType.S;
 import static com.example.myaccount.type.TransactionType.*;
 
@@ -29,15 +39,29 @@ import static com.example.myaccount.type.TransactionType.*;
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
+    // 메서드별로 class, method 태그가 붙는다.
+    private static final String SERVICE_TIMER = "account.transaction.service";
+
     private final TransactionRepository transactionRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final TransactionLedgerWriter transactionLedgerWriter;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountBalanceCache accountBalanceCache;
+
+    @Value("${account.transaction.execution-mode:LOCK}")
+    private TransactionExecutionMode executionMode = TransactionExecutionMode.LOCK;
+
+    @Value("${account.transaction.optimistic.max-retries:3}")
+    private int optimisticMaxRetries = 3;
 
     /**
      * 사용자 없는 경우, 사용자 아이디와 계좌 소유주가 다른 경우,
      * 계좌가 이미 해지 상태인 경우, 거래금액이 잔액보다 큰 경우,
      * 거래 금액이 너무 작거나 큰 경우 실패 응답
      */
+    @Timed(value = SERVICE_TIMER, histogram = true)
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber,
                                      Long amount) {
@@ -49,7 +73,8 @@ public class TransactionService {
 
         validateUseBalance(user, account, amount);
 
-        account.useBalance(amount);
+        account = debit(user, account, amount);
+        putBalanceAfterCommit(account);
 
         Transaction transaction =
                 saveAndGetTransaction(USE, S, account, amount);
@@ -57,6 +82,40 @@ public class TransactionService {
         return TransactionDto.fromEntity(transaction);
     }
 
+    /**
+     * 한 계좌에 대한 여러 건의 사용을 하나의 트랜잭션으로 처리한다.
+     * 건별 검증에 실패한 요청은 F 결과로 돌려주고 나머지는 계속 처리한다.
+     * 계좌가 없으면 전체가 실패한다.
+     */
+    @Timed(value = SERVICE_TIMER, histogram = true)
+    @Transactional
+    public List<UseBalanceBatch.Item> useBalances(String accountNumber,
+                                                  List<UseBalance.Request> requests) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+
+        Map<Long, Optional<AccountUser>> users = new HashMap<>();
+        List<UseBalanceBatch.Item> results = new ArrayList<>();
+        for (UseBalance.Request request : requests) {
+            try {
+                AccountUser user = users.computeIfAbsent(request.getUserId(),
+                                accountUserRepository::findById)
+                        .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+
+                validateUseBalance(user, account, request.getAmount());
+
+                account = debit(user, account, request.getAmount());
+
+                results.add(UseBalanceBatch.Item.success(TransactionDto.fromEntity(
+                        saveAndGetTransaction(USE, S, account, request.getAmount()))));
+            } catch (AccountException e) {
+                results.add(UseBalanceBatch.Item.failure(request, e.getErrorCode()));
+            }
+        }
+        putBalanceAfterCommit(account);
+        return results;
+    }
+
     private void validateUseBalance(AccountUser user, Account account, Long amount) {
         if (!Objects.equals(user.getId(), account.getAccountUser().getId())) {
             throw new AccountException(USER_ACCOUNT_NOT_MATCH);
@@ -71,50 +130,174 @@ public class TransactionService {
         }
     }
 
-    @Transactional
+    /**
+     * 잔액을 차감하고 차감 후의 계좌를 반환한다.
+     * 락을 펜싱 토큰과 함께 잡았다면 토큰 조건부 UPDATE 로 반영한다.
+     */
+    private Account debit(AccountUser user, Account account, Long amount) {
+        if (executionMode == TransactionExecutionMode.OPTIMISTIC) {
+            return debitWithRetry(user, account, amount);
+        }
+
+        Long fencingToken = FencingTokenHolder.get(account.getAccountNumber());
+        if (fencingToken == null) {
+            account.useBalance(amount);
+            return account;
+        }
+
+        if (accountRepository.debitBalanceFenced(account.getId(), fencingToken,
+                amount, AccountStatus.IN_USE) != 1) {
+            throw new AccountException(ACCOUNT_LOCK_EXPIRED);
+        }
+        account.useBalance(amount);     // 스냅샷 용도
+        return account;
+    }
+
+    private Account credit(Account account, Long amount) {
+        if (executionMode == TransactionExecutionMode.OPTIMISTIC) {
+            return creditWithRetry(account, amount);
+        }
+
+        Long fencingToken = FencingTokenHolder.get(account.getAccountNumber());
+        if (fencingToken == null) {
+            account.cancelBalance(amount);
+            return account;
+        }
+
+        if (accountRepository.creditBalanceFenced(account.getId(), fencingToken,
+                amount) != 1) {
+            throw new AccountException(ACCOUNT_LOCK_EXPIRED);
+        }
+        account.cancelBalance(amount);  // 스냅샷 용도
+        return account;
+    }
+
+    /**
+     * 버전이 같을 때만 잔액을 바꾸는 UPDATE 로 차감한다. (락 없음)
+     * 다른 요청이 먼저 바꿨다면 다시 읽어서 검증 후 재시도한다.
+     * 반환하는 계좌는 영속성 컨텍스트에서 분리된 상태이며 잔액과 버전은 차감 후 값이다.
+     * (useBalances 는 이 계좌로 다음 건을 차감한다.)
+     */
+    private Account debitWithRetry(AccountUser user, Account account, Long amount) {
+        Account current = account;
+        for (int attempt = 0; attempt < optimisticMaxRetries; attempt++) {
+            if (accountRepository.debitBalance(current.getId(), current.getVersion(),
+                    amount, AccountStatus.IN_USE) == 1) {
+                current.useBalance(amount);     // 스냅샷 용도
+                current.increaseVersion();
+                return current;
+            }
+
+            log.debug("Balance update conflict. accountNumber : {}, attempt : {}",
+                    current.getAccountNumber(), attempt + 1);
+            current = accountRepository.findById(current.getId())
+                    .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+            validateUseBalance(user, current, amount);
+        }
+
+        throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+    }
+
+    private Account creditWithRetry(Account account, Long amount) {
+        Account current = account;
+        for (int attempt = 0; attempt < optimisticMaxRetries; attempt++) {
+            if (accountRepository.creditBalance(current.getId(), current.getVersion(),
+                    amount) == 1) {
+                current.cancelBalance(amount);  // 스냅샷 용도
+                current.increaseVersion();
+                return current;
+            }
+
+            log.debug("Balance update conflict. accountNumber : {}, attempt : {}",
+                    current.getAccountNumber(), attempt + 1);
+            current = accountRepository.findById(current.getId())
+                    .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        }
+
+        throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+    }
+
+    private void putBalanceAfterCommit(Account account) {
+        accountBalanceCache.putBalanceAfterCommit(account.getAccountUser().getId(),
+                account.getAccountNumber(), account.getBalance());
+    }
+
+    /**
+     * 실패 거래는 비동기로 모아서 저장한다. 호출 스레드는 기다리지 않는다.
+     */
     public void saveFailedTransaction(TransactionType transactionType,
                                       String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
-
-        saveAndGetTransaction(transactionType, F, account, amount);
+        failedTransactionRecorder.record(transactionType, accountNumber, amount);
     }
 
     private Transaction saveAndGetTransaction(
             TransactionType transactionType
             ,TransactionResultType transactionResultType
             , Account account, Long amount) {
-        return transactionRepository.save(Transaction.builder()
+        return saveAndGetTransaction(transactionType, transactionResultType,
+                account, amount, null);
+    }
+
+    private Transaction saveAndGetTransaction(
+            TransactionType transactionType
+            ,TransactionResultType transactionResultType
+            , Account account, Long amount, Long originalTransactionId) {
+        return transactionLedgerWriter.write(buildTransaction(transactionType,
+                transactionResultType, account, amount, originalTransactionId));
+    }
+
+    private Transaction buildTransaction(
+            TransactionType transactionType
+            ,TransactionResultType transactionResultType
+            , Account account, Long amount, Long originalTransactionId) {
+        return Transaction.builder()
                 .transactionType(transactionType)
                 .transactionResultType(transactionResultType)
                 .account(account)
                 .amount(amount)
                 .balanceSnapShot(account.getBalance())
-                .transactionId(UUID.randomUUID().toString()
-                        .replace("-", ""))    // 랜덤값
+                .transactionId(transactionIdGenerator.nextId())
+                .originalTransactionId(originalTransactionId)
                 .transactionAt(LocalDateTime.now())
-                .build());
+                .build();
     }
 
+    @Timed(value = SERVICE_TIMER, histogram = true)
+    @Transactional
     public TransactionDto cancelBalance(String transactionId,
                                         String accountNumber, Long amount) {
 
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
+        Long id = TransactionId.parse(transactionId)
                 .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND));
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        Transaction transaction = transactionRepository.findByTransactionId(id)
+                .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND));
+        // 계좌번호 -> id 는 캐시에서 확인하고, 계좌는 거래에 연결된 것을 사용한다.
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
-        validateCancelBalance(transaction, account, amount);
+        validateCancelBalance(transaction, accountId, amount);
+        if (transactionRepository.existsByOriginalTransactionId(id)) {
+            throw new AccountException(TRANSACTION_ALREADY_CANCELED);
+        }
 
-        account.cancelBalance(amount);
+        Account account = credit(transaction.getAccount(), amount);
+        putBalanceAfterCommit(account);
 
-        return TransactionDto.fromEntity(
-                saveAndGetTransaction(CANCEL, S, account, amount)
-        );
+        // 취소 거래는 원장 쓰기 모드와 관계없이 잔액 변경과 같은 커밋에 저장한다.
+        // 커밋 후에 저장하면 그 사이 들어온 다음 취소가 위의 중복 검사를 통과한다.
+        Transaction cancel;
+        try {
+            cancel = transactionLedgerWriter.writeNow(
+                    buildTransaction(CANCEL, S, account, amount, id));
+        } catch (DataIntegrityViolationException e) {
+            // uk_transaction_original_transaction_id: 동시에 들어온 다른 취소가 먼저 저장했다.
+            throw new AccountException(TRANSACTION_ALREADY_CANCELED);
+        }
+        return TransactionDto.fromEntity(cancel);
     }
 
-    private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
-        if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
+    private void validateCancelBalance(Transaction transaction, Long accountId, Long amount) {
+        if (!Objects.equals(transaction.getAccount().getId(), accountId)) {
             throw new AccountException(TRANSACTION_ACCOUNT_NOT_MATCH);
         }
         if (!Objects.equals(transaction.getAmount(), amount)) {
@@ -125,8 +308,11 @@ public class TransactionService {
         }
     }
 
+    @Timed(value = SERVICE_TIMER, histogram = true)
     public TransactionDto queryTransaction(String transactionId) {
-        return TransactionDto.fromEntity(transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND)));
+        Long id = TransactionId.parse(transactionId)
+                .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND));
+        return transactionRepository.findDtoByTransactionId(id)
+                .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND));
     }
 }
@@ -0,0 +1,5 @@
+package com.example.myaccount.type;
+
+public enum AccountNumberAllocatorType {
+    SEQUENCE, REDIS;
+}
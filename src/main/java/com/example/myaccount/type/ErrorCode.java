@@ -17,9 +17,14 @@ public enum ErrorCode {
     TRANSACTION_ACCOUNT_NOT_MATCH("거래와 계좌의 소유주가 다릅니다."),
     CANCEL_MUST_FULLY("부분 취소는 허용되지 않습니다."),
     TOO_OLD_ORDER_TO_CANCEL("1년이 지난 거래는 취소가 불가능합니다."),
+    TRANSACTION_ALREADY_CANCELED("이미 취소된 거래입니다."),
     BALANCE_IS_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다."),
     AMOUNT_EXCEED_BALANCE("거래 금액이 계좌 보다 큽니다."),
     ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중 입니다."),
+    LOCK_SERVICE_UNAVAILABLE("계좌 락 서버를 사용할 수 없습니다."),
+    ACCOUNT_LOCK_EXPIRED("계좌 락이 만료되어 다른 요청이 먼저 처리했습니다."),
+    IDEMPOTENCY_KEY_REUSED("같은 멱등 키로 다른 요청이 이미 처리되었습니다."),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS("같은 멱등 키의 요청을 처리 중입니다."),
     ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지되었습니다.");
 
     private final String description;
@@ -0,0 +1,7 @@
+package com.example.myaccount.type;
+
+public enum LatencyLayer {
+    LOCK,       // 계좌 락 획득 직후 (락을 잡은 채로 대기)
+    SERVICE,    // AccountService, TransactionService 메서드 진입 시
+    REPOSITORY  // 리포지토리 메서드 호출마다
+}
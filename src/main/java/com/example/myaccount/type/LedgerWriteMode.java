@@ -0,0 +1,7 @@
+package com.example.myaccount.type;
+
+public enum LedgerWriteMode {
+    SYNC,           // 잔액 변경과 같은 DB 트랜잭션에서 바로 저장
+    WRITE_BEHIND,   // 커밋 후 큐에 넣고 바로 응답, 배치로 저장
+    GROUP_COMMIT    // 커밋 후 큐에 넣고 배치 커밋이 끝나면 응답 (최대 ack-timeout-ms)
+}
@@ -0,0 +1,7 @@
+package com.example.myaccount.type;
+
+public enum LockCircuitState {
+    CLOSED,     // 락 서버로 요청을 보낸다.
+    OPEN,       // 락 서버로 요청을 보내지 않는다.
+    HALF_OPEN   // 요청 하나만 보내서 복구 여부를 확인한다.
+}
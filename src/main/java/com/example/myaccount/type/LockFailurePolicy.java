@@ -0,0 +1,6 @@
+package com.example.myaccount.type;
+
+public enum LockFailurePolicy {
+    FAIL_CLOSED,        // 락 서버 장애 시 요청을 바로 실패시킨다.
+    FAIL_OPEN_TO_LOCAL  // 락 서버 장애 시 로컬 스트라이프 락으로 처리한다. (노드 간 배제는 @Version 에 의존)
+}
@@ -0,0 +1,6 @@
+package com.example.myaccount.type;
+
+public enum LockLeaseMode {
+    FIXED,      // 15초 고정 lease
+    WATCHDOG    // lease 없이 잡고 Redisson watchdog 이 보유 중에 만료 시간을 연장
+}
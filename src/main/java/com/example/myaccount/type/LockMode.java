@@ -0,0 +1,8 @@
+package com.example.myaccount.type;
+
+public enum LockMode {
+    LOCAL,  // JVM 내부 스트라이프 락 (단일 노드)
+    REDIS,  // Redisson 분산 락
+    HYBRID, // 로컬 스트라이프 획득 후 Redisson 분산 락
+    SHARDED // 계좌번호 일관된 해싱으로 여러 Redis 노드에 나눈 Redisson 분산 락
+}
@@ -0,0 +1,7 @@
+package com.example.myaccount.type;
+
+public enum TransactionExecutionMode {
+    LOCK,           // 계좌 락(LockService)을 잡고 요청 스레드에서 실행
+    SINGLE_WRITER,  // 계좌별 단일 스레드 큐에서 순서대로 실행 (락 없음)
+    OPTIMISTIC      // 락 없이 버전 조건부 UPDATE 로 잔액 변경, 충돌 시 재시도
+}
@@ -7,3 +7,4 @@ values (2, 'Lupi', now(), now());
 insert into account_user(id, name, created_at, updated_at)
 values (3, 'Krong', now(), now());
 
+create sequence if not exists account_number_block_seq start with 0 minvalue 0;
@@ -3,8 +3,12 @@ package com.example.myaccount.controller;
 import com.example.myaccount.domain.Account;
 import com.example.myaccount.domain.AccountStatus;
 import com.example.myaccount.dto.AccountDto;
+import com.example.myaccount.dto.AccountInfo;
+import com.example.myaccount.dto.BalanceAsOf;
 import com.example.myaccount.dto.CreateAccount;
 import com.example.myaccount.dto.DeleteAccount;
+import com.example.myaccount.service.AccountBalanceCache;
+import com.example.myaccount.service.AccountBalanceHistoryService;
 import com.example.myaccount.service.AccountService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,8 +23,10 @@ import redis.embedded.RedisServer;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
@@ -35,6 +41,12 @@ class AccountControllerTest {
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private AccountBalanceCache accountBalanceCache;
+
+    @MockBean
+    private AccountBalanceHistoryService accountBalanceHistoryService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -94,24 +106,19 @@ class AccountControllerTest {
     @Test
     void getAccountsByUserId_계좌_조회_성공() throws Exception {
 
-        List<AccountDto> accountDtos =
-                Arrays.asList(AccountDto.builder()
-                                .accountNumber("1111111111")
-                                .balance(1000L)
-                                .build(),
-                        AccountDto.builder()
-                                .accountNumber("2222222222")
-                                .balance(2222L)
-                                .build(),
-                        AccountDto.builder()
-                                .accountNumber("3333333333")
-                                .balance(3333L)
-                                .build()
+        List<AccountInfo> accountInfos =
+                Arrays.asList(new AccountInfo("1111111111", 1000L),
+                        new AccountInfo("2222222222", 2222L),
+                        new AccountInfo("3333333333", 3333L)
                 );
 
         // given
         given(accountService.getAccountsByUserId(anyLong()))
-                .willReturn(accountDtos);
+                .willReturn(accountInfos);
+        given(accountBalanceCache.getAccounts(anyLong(), any()))
+                .willAnswer(invocation -> invocation
+                        .<Function<Long, List<AccountInfo>>>getArgument(1)
+                        .apply(invocation.getArgument(0)));
 
         // when
         // then
@@ -126,4 +133,25 @@ class AccountControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    void getBalanceAsOf_시점_잔액_조회_성공() throws Exception {
+        // given
+        given(accountBalanceHistoryService.getBalanceAsOf(anyString(), any()))
+                .willReturn(BalanceAsOf.Response.builder()
+                        .accountNumber("1234567890")
+                        .asOf(LocalDateTime.of(2022, 6, 1, 0, 0))
+                        .balance(5000L)
+                        .replayedTransactions(3)
+                        .build());
+
+        // when
+        // then
+        mockMvc.perform(get("/account/1234567890/balance?as_of=2022-06-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$.balance").value(5000L))
+                .andExpect(jsonPath("$.replayedTransactions").value(3))
+                .andDo(print());
+    }
+
 }
\ No newline at end of file
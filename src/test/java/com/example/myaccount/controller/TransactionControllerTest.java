@@ -2,39 +2,67 @@ package com.example.myaccount.controller;
 
 import com.example.myaccount.dto.CancelBalance;
 import com.example.myaccount.dto.TransactionDto;
+import com.example.myaccount.dto.TransactionHistory;
 import com.example.myaccount.dto.UseBalance;
+import com.example.myaccount.dto.UseBalanceBatch;
+import com.example.myaccount.service.AccountCommandExecutor.AccountCommand;
+import com.example.myaccount.service.AsyncTransactionExecutor;
+import com.example.myaccount.service.TransactionBatchService;
+import com.example.myaccount.service.TransactionHistoryService;
 import com.example.myaccount.service.TransactionService;
+import com.example.myaccount.type.ErrorCode;
 import com.example.myaccount.type.TransactionResultType;
 import com.example.myaccount.type.TransactionType;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
 class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
+    @MockBean
+    private AsyncTransactionExecutor asyncTransactionExecutor;
+    @MockBean
+    private TransactionBatchService transactionBatchService;
+    @MockBean
+    private TransactionHistoryService transactionHistoryService;
     @Autowired
     private MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void setUp() {
+        // 비활성화 상태처럼 요청 스레드에서 바로 실행한다.
+        given(asyncTransactionExecutor.submit(any(), any()))
+                .willAnswer(invocation -> CompletableFuture.completedFuture(
+                        invocation.<AccountCommand<?>>getArgument(1).execute()));
+    }
+
     @Test
     void successUseBalance() throws Exception {
         // given
@@ -51,12 +79,16 @@ class TransactionControllerTest {
 
         // when
         // then
-        mockMvc.perform(post("/transaction/use")
+        MvcResult mvcResult = mockMvc.perform(post("/transaction/use")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(
                         new UseBalance.Request(1L, "0000000000", 100L)
                 ))
-        ).andDo(print())
+        ).andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accountNumber").value("1000000001"))
                 .andExpect(jsonPath("$.transactionResultType").value("S"))
@@ -65,6 +97,45 @@ class TransactionControllerTest {
 
     }
 
+    @Test
+    void successUseBalanceBatch() throws Exception {
+        // given
+        given(transactionBatchService.useBalanceBatch(any()))
+                .willReturn(UseBalanceBatch.Response.builder()
+                        .results(Arrays.asList(
+                                UseBalanceBatch.Item.builder()
+                                        .index(0)
+                                        .accountNumber("1000000001")
+                                        .transactionResultType(TransactionResultType.S)
+                                        .transactionId("tid")
+                                        .amount(100L)
+                                        .build(),
+                                UseBalanceBatch.Item.builder()
+                                        .index(1)
+                                        .accountNumber("1000000002")
+                                        .transactionResultType(TransactionResultType.F)
+                                        .amount(200L)
+                                        .errorCode(ErrorCode.AMOUNT_EXCEED_BALANCE)
+                                        .build()))
+                        .build());
+
+        // when
+        // then
+        mockMvc.perform(post("/transaction/use/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UseBalanceBatch.Request(Arrays.asList(
+                                        new UseBalance.Request(1L, "1000000001", 100L),
+                                        new UseBalance.Request(1L, "1000000002", 200L)))
+                        ))
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].transactionResultType").value("S"))
+                .andExpect(jsonPath("$.results[0].transactionId").value("tid"))
+                .andExpect(jsonPath("$.results[1].transactionResultType").value("F"))
+                .andExpect(jsonPath("$.results[1].errorCode").value("AMOUNT_EXCEED_BALANCE"));
+    }
+
     @Test
     void successCancelBalance() throws Exception {
         // given
@@ -81,13 +152,17 @@ class TransactionControllerTest {
 
         // when
         // then
-        mockMvc.perform(post("/transaction/cancel")
+        MvcResult mvcResult = mockMvc.perform(post("/transaction/cancel")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(
                                 new CancelBalance.Request("transactionId",
                                         "0000000000", 100L)
                         ))
-                ).andDo(print())
+                ).andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accountNumber").value("1000000001"))
                 .andExpect(jsonPath("$.transactionResultType").value("S"))
@@ -120,4 +195,27 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.amount").value(12345L));
     }
 
-}
\ No newline at end of file
+    @Test
+    void successGetTransactionHistory() throws Exception {
+        // given
+        given(transactionHistoryService.getTransactionHistory(any(), any(), anyInt()))
+                .willReturn(TransactionHistory.Response.builder()
+                        .transactions(Collections.singletonList(
+                                new TransactionHistory.Item(1L, 0xabcL,
+                                        TransactionType.USE, TransactionResultType.S,
+                                        100L, 900L, LocalDateTime.now())))
+                        .nextCursor("2022-06-01T23:26:14_1")
+                        .build());
+
+        // when
+        // then
+        mockMvc.perform(get("/account/1000000001/transactions")
+                        .param("size", "1")
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].transactionId")
+                        .value("0000000000000abc"))
+                .andExpect(jsonPath("$.transactions[0].id").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("2022-06-01T23:26:14_1"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.myaccount.repository;
+
+import com.example.myaccount.domain.Account;
+import com.example.myaccount.domain.AccountStatus;
+import com.example.myaccount.domain.AccountUser;
+import com.example.myaccount.domain.Transaction;
+import com.example.myaccount.dto.AccountInfo;
+import com.example.myaccount.dto.TransactionDto;
+import com.example.myaccount.type.TransactionResultType;
+import com.example.myaccount.type.TransactionType;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 연관관계 지연 로딩과 조회 경로별 쿼리 수 확인
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.show_sql=false"})
+class TransactionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Statistics statistics;
+    private AccountUser accountUser;
+
+    @BeforeEach
+    void setUp() {
+        accountUser = entityManager.find(AccountUser.class, 1L);  // data.sql
+        for (int i = 0; i < 3; i++) {
+            Account account = entityManager.persist(Account.builder()
+                    .accountUser(accountUser)
+                    .accountNumber("100000000" + i)
+                    .accountStatus(AccountStatus.IN_USE)
+                    .balance(1000L)
+                    .build());
+            entityManager.persist(Transaction.builder()
+                    .account(account)
+                    .transactionType(TransactionType.USE)
+                    .transactionResultType(TransactionResultType.S)
+                    .amount(100L)
+                    .balanceSnapShot(900L)
+                    .transactionId(10L + i)
+                    .transactionAt(LocalDateTime.now())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByTransactionId_거래와_계좌를_한_번에_읽고_사용자는_읽지_않는다() {
+        // given
+        // when
+        Transaction transaction = transactionRepository.findByTransactionId(10L).get();
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(Hibernate.isInitialized(transaction.getAccount()));
+        assertFalse(Hibernate.isInitialized(transaction.getAccount().getAccountUser()));
+        assertEquals(accountUser.getId(), transaction.getAccount().getAccountUser().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findDtoByTransactionId_쿼리_한_번으로_응답을_만든다() {
+        // given
+        // when
+        TransactionDto transactionDto = transactionRepository.findDtoByTransactionId(11L).get();
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals("1000000001", transactionDto.getAccountNumber());
+        assertEquals("000000000000000b", transactionDto.getTransactionId());
+    }
+
+    @Test
+    void findByAccountNumber_계좌_사용자를_읽지_않는다() {
+        // given
+        // when
+        Account account = accountRepository.findByAccountNumber("1000000000").get();
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(Hibernate.isInitialized(account.getAccountUser()));
+    }
+
+    @Test
+    void findAccountInfosByUserId_계좌_수와_관계없이_쿼리_한_번() {
+        // given
+        // when
+        List<AccountInfo> accounts = accountRepository.findAccountInfosByUserId(accountUser.getId());
+
+        // then
+        assertEquals(3, accounts.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1000L, accounts.get(0).getBalance());
+    }
+}
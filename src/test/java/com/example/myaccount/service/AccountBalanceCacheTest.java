@@ -0,0 +1,155 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.dto.AccountInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBalanceCacheTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private RMap<Object, Object> balanceMap;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountBalanceCache accountBalanceCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountBalanceCache = new AccountBalanceCache(
+                redissonClient, meterRegistry, true, 60_000, 60_000, 100);
+        given(redissonClient.getMap(anyString(), any(Codec.class)))
+                .willReturn(balanceMap);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter("account.balance.cache.requests",
+                "result", result).count();
+    }
+
+    @Test
+    void getAccounts_두_번째_조회는_로컬_캐시에서_응답한다() {
+        // given
+        given(balanceMap.readAllMap()).willReturn(Collections.emptyMap());
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        accountBalanceCache.getAccounts(1L, userId -> {
+            loads.incrementAndGet();
+            return Arrays.asList(new AccountInfo("1000000000", 1000L));
+        });
+        List<AccountInfo> accounts = accountBalanceCache.getAccounts(1L, userId -> {
+            throw new IllegalStateException("DB 를 다시 읽으면 안 된다");
+        });
+
+        // then
+        assertEquals(1, loads.get());
+        assertEquals(1000L, accounts.get(0).getBalance());
+        assertEquals(1.0, requests("miss"));
+        assertEquals(1.0, requests("local_hit"));
+        verify(balanceMap).putAll(Collections.singletonMap("1000000000", 1000L));
+    }
+
+    @Test
+    void getAccounts_로컬에_없으면_Redis_에서_읽는다() {
+        // given
+        Map<Object, Object> balances = new HashMap<>();
+        balances.put("2000000000", 200L);
+        balances.put("1000000000", 100L);
+        given(balanceMap.readAllMap()).willReturn(balances);
+
+        // when
+        List<AccountInfo> accounts = accountBalanceCache.getAccounts(1L, userId -> {
+            throw new IllegalStateException("DB 를 읽으면 안 된다");
+        });
+
+        // then
+        assertEquals("1000000000", accounts.get(0).getAccountNumber());
+        assertEquals(200L, accounts.get(1).getBalance());
+        assertEquals(1.0, requests("redis_hit"));
+    }
+
+    @Test
+    void putBalanceAfterCommit_커밋_후에_캐시된_잔액을_바꾼다() {
+        // given
+        given(balanceMap.readAllMap()).willReturn(Collections.emptyMap());
+        accountBalanceCache.getAccounts(1L, userId ->
+                Arrays.asList(new AccountInfo("1000000000", 1000L),
+                        new AccountInfo("2000000000", 2000L)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // when
+            accountBalanceCache.putBalanceAfterCommit(1L, "1000000000", 900L);
+            List<AccountInfo> beforeCommit = accountBalanceCache.getAccounts(1L, null);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+
+            // then
+            assertEquals(1000L, beforeCommit.get(0).getBalance());
+            assertEquals(900L, accountBalanceCache.getAccounts(1L, null)
+                    .get(0).getBalance());
+            assertEquals(2000L, accountBalanceCache.getAccounts(1L, null)
+                    .get(1).getBalance());
+            verify(balanceMap).fastPutIfExists("1000000000", 900L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getAccounts_Redis_장애시에도_DB_에서_읽어서_응답한다() {
+        // given
+        given(balanceMap.readAllMap()).willThrow(new IllegalStateException("redis down"));
+
+        // when
+        List<AccountInfo> accounts = accountBalanceCache.getAccounts(1L, userId ->
+                Arrays.asList(new AccountInfo("1000000000", 1000L)));
+
+        // then
+        assertEquals(1000L, accounts.get(0).getBalance());
+        assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    void evictAfterCommit_트랜잭션_밖에서는_바로_지운다() {
+        // given
+        given(balanceMap.readAllMap()).willReturn(Collections.emptyMap());
+        accountBalanceCache.getAccounts(1L, userId ->
+                Arrays.asList(new AccountInfo("1000000000", 1000L)));
+
+        // when
+        accountBalanceCache.evictAfterCommit(1L);
+        List<AccountInfo> accounts = accountBalanceCache.getAccounts(1L, userId ->
+                Arrays.asList(new AccountInfo("1000000000", 0L)));
+
+        // then
+        verify(balanceMap).delete();
+        verify(balanceMap, never()).fastPutIfExists(any(), any());
+        assertEquals(0L, accounts.get(0).getBalance());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.domain.Account;
+import com.example.myaccount.domain.AccountBalanceCheckpoint;
+import com.example.myaccount.dto.BalanceAsOf;
+import com.example.myaccount.dto.Reconciliation;
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.repository.AccountBalanceCheckpointRepository;
+import com.example.myaccount.repository.AccountRepository;
+import com.example.myaccount.repository.TransactionRepository;
+import com.example.myaccount.type.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.example.myaccount.type.TransactionResultType.S;
+import static com.example.myaccount.type.TransactionType.CANCEL;
+import static com.example.myaccount.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBalanceHistoryServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private AccountBalanceCheckpointRepository checkpointRepository;
+
+    @InjectMocks
+    private AccountBalanceHistoryService accountBalanceHistoryService;
+
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2022, 6, 1, 0, 0);
+
+    private static Account account() {
+        return Account.builder()
+                .id(1L)
+                .accountNumber("1000000000")
+                .initialBalance(10_000L)
+                .balance(5_000L)
+                .build();
+    }
+
+    @Test
+    void getBalanceAsOf_가까운_체크포인트부터_남은_거래만_적용한다() {
+        // given
+        LocalDateTime checkpointAt = AS_OF.minusDays(1);
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(account()));
+        given(checkpointRepository
+                .findFirstByAccountIdAndTransactionAtLessThanEqualOrderByTransactionAtDescLedgerIdDesc(
+                        1L, AS_OF))
+                .willReturn(Optional.of(AccountBalanceCheckpoint.builder()
+                        .accountId(1L)
+                        .ledgerId(100L)
+                        .transactionAt(checkpointAt)
+                        .balance(8_000L)
+                        .build()));
+        given(transactionRepository.streamLedgerAfter(1L, checkpointAt, 100L, AS_OF, S))
+                .willReturn(Stream.of(
+                        new Reconciliation.LedgerEntry(1L, 101L, 1001L, USE,
+                                3_000L, 5_000L, checkpointAt.plusHours(1)),
+                        new Reconciliation.LedgerEntry(1L, 102L, 1002L, CANCEL,
+                                1_000L, 6_000L, checkpointAt.plusHours(2))));
+
+        // when
+        BalanceAsOf.Response response =
+                accountBalanceHistoryService.getBalanceAsOf("1000000000", AS_OF);
+
+        // then
+        assertEquals(6_000L, response.getBalance());
+        assertEquals(checkpointAt, response.getCheckpointAt());
+        assertEquals(2, response.getReplayedTransactions());
+        verify(transactionRepository, never()).streamLedgerUntil(anyLong(), any(), any());
+    }
+
+    @Test
+    void getBalanceAsOf_체크포인트가_없으면_개설_잔액부터_적용한다() {
+        // given
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(account()));
+        given(checkpointRepository
+                .findFirstByAccountIdAndTransactionAtLessThanEqualOrderByTransactionAtDescLedgerIdDesc(
+                        1L, AS_OF))
+                .willReturn(Optional.empty());
+        given(transactionRepository.streamLedgerUntil(1L, AS_OF, S))
+                .willReturn(Stream.of(
+                        new Reconciliation.LedgerEntry(1L, 1L, 1001L, USE,
+                                2_000L, 8_000L, AS_OF.minusDays(3))));
+
+        // when
+        BalanceAsOf.Response response =
+                accountBalanceHistoryService.getBalanceAsOf("1000000000", AS_OF);
+
+        // then
+        assertEquals(8_000L, response.getBalance());
+        assertNull(response.getCheckpointAt());
+        assertEquals(1, response.getReplayedTransactions());
+    }
+
+    @Test
+    void getBalanceAsOf_계좌가_없으면_ACCOUNT_NOT_FOUND() {
+        // given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.empty());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountBalanceHistoryService.getBalanceAsOf("1000000000", AS_OF));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    }
+}
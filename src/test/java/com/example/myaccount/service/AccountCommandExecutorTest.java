@@ -0,0 +1,128 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountCommandExecutorTest {
+
+    private AccountCommandExecutor accountCommandExecutor;
+
+    @AfterEach
+    void tearDown() {
+        accountCommandExecutor.shutdown();
+    }
+
+    @Test
+    void submit_같은_계좌의_명령은_하나씩_순서대로_실행된다() throws Exception {
+        // given
+        accountCommandExecutor = new AccountCommandExecutor(4, 10_000, 5_000);
+        long[] balance = {10_000L};   // 동기화 없이 변경한다
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 5_000; i++) {
+            futures.add(accountCommandExecutor.submit("1000000000",
+                    () -> --balance[0]));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .get(30, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(5_000L, balance[0]);
+        assertEquals(5_000L, futures.get(futures.size() - 1).get());
+    }
+
+    @Test
+    void execute_명령에서_발생한_예외를_그대로_던진다() {
+        // given
+        accountCommandExecutor = new AccountCommandExecutor(4, 10, 5_000);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountCommandExecutor.execute("1000000000", () -> {
+                    throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+                }));
+
+        // then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    void submit_큐가_가득_차면_ACCOUNT_TRANSACTION_LOCK_으로_실패한다()
+            throws Exception {
+        // given
+        accountCommandExecutor = new AccountCommandExecutor(1, 1, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        accountCommandExecutor.submit("1000000000", () -> {
+            release.await();
+            return null;
+        });
+        accountCommandExecutor.submit("1000000000", () -> null);
+
+        // when
+        CompletableFuture<Object> rejected =
+                accountCommandExecutor.submit("1000000000", () -> null);
+        release.countDown();
+
+        // then
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> rejected.get(5, TimeUnit.SECONDS));
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) exception.getCause()).getErrorCode());
+    }
+
+    @Test
+    void execute_시간_안에_끝나지_않으면_ACCOUNT_TRANSACTION_LOCK_으로_실패하고_명령은_실행하지_않는다()
+            throws Exception {
+        // given
+        accountCommandExecutor = new AccountCommandExecutor(1, 10, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocking = accountCommandExecutor.submit("1000000000", () -> {
+            release.await();
+            return null;
+        });
+        boolean[] executed = {false};
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountCommandExecutor.execute("1000000000", () -> {
+                    executed[0] = true;
+                    return null;
+                }));
+        release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+        accountCommandExecutor.submit("1000000000", () -> null)
+                .get(5, TimeUnit.SECONDS);      // 취소된 명령의 차례가 지나갔다.
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertFalse(executed[0]);
+    }
+
+    @Test
+    void execute_시간이_지나도_이미_시작한_명령은_끝날_때까지_기다려_결과를_돌려준다()
+            throws Throwable {
+        // given
+        accountCommandExecutor = new AccountCommandExecutor(1, 10, 50);
+
+        // when
+        String result = accountCommandExecutor.execute("1000000000", () -> {
+            Thread.sleep(300);
+            return "debited";
+        });
+
+        // then
+        assertEquals("debited", result);
+    }
+}
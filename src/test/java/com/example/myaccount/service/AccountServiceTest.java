@@ -4,6 +4,7 @@ import com.example.myaccount.domain.Account;
 import com.example.myaccount.domain.AccountStatus;
 import com.example.myaccount.domain.AccountUser;
 import com.example.myaccount.dto.AccountDto;
+import com.example.myaccount.dto.AccountInfo;
 import com.example.myaccount.exception.AccountException;
 import com.example.myaccount.repository.AccountRepository;
 import com.example.myaccount.repository.AccountUserRepository;
@@ -34,6 +35,10 @@ class AccountServiceTest {
     private AccountRepository accountRepository;
     @Mock
     private AccountUserRepository accountUserRepository;
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
 
     @InjectMocks
     private AccountService accountService;  // 위에 모킹한 라이브러리 삽입
@@ -46,41 +51,8 @@ class AccountServiceTest {
 
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(userData);
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(Account.builder()
-                        .accountNumber("1110").build())
-                );
-        given(accountRepository.save(any()))
-                .willReturn(Account.builder()
-                        .accountUser(userData.get())
-                        .accountNumber("1119").build());
-
-        ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
-
-
-        // when
-        AccountDto accountDto = accountService.createAccount(
-                1L, 100L);
-
-        // then
-        verify(accountRepository, times(1)).save(captor.capture());
-        assertEquals(12345L, accountDto.getUserId());
-        assertEquals("1111", captor.getValue().getAccountNumber());
-    }
-
-    @Test
-    void createAccount_계좌가_없을때_초기_계좌번호로_생성한다() {
-        String INITIAL_ACCOUNT_NUMBER = "1000000000";
-
-        // given
-        Optional<AccountUser> userData = Optional.of(AccountUser.builder()
-                .id(12345L).build());
-
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(userData);
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.empty()
-                );
+        given(accountNumberAllocator.nextAccountNumber())
+                .willReturn("1000000011");
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
                         .accountUser(userData.get())
@@ -96,7 +68,7 @@ class AccountServiceTest {
         // then
         verify(accountRepository, times(1)).save(captor.capture());
         assertEquals(12345L, accountDto.getUserId());
-        assertEquals(INITIAL_ACCOUNT_NUMBER, captor.getValue().getAccountNumber());
+        assertEquals("1000000011", captor.getValue().getAccountNumber());
     }
 
     @Test
@@ -254,40 +226,28 @@ class AccountServiceTest {
         AccountUser userData = AccountUser.builder()
                 .id(12345L).build();
 
-        List<Account> accounts =
-                Arrays.asList(Account.builder()
-                                .accountUser(userData)
-                                .accountNumber("1111111111")
-                                .balance(1000L)
-                                .build(),
-                        Account.builder()
-                                .accountUser(userData)
-                                .accountNumber("2222222222")
-                                .balance(2222L)
-                                .build(),
-                        Account.builder()
-                                .accountUser(userData)
-                                .accountNumber("3333333333")
-                                .balance(3333L)
-                                .build()
+        List<AccountInfo> accounts =
+                Arrays.asList(new AccountInfo("1111111111", 1000L),
+                        new AccountInfo("2222222222", 2222L),
+                        new AccountInfo("3333333333", 3333L)
                 );
 
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(userData));
 
-        given(accountRepository.findByAccountUser(any()))
+        given(accountRepository.findAccountInfosByUserId(anyLong()))
                 .willReturn(accounts);
 
         // when
-        List<AccountDto> accountDtos = accountService.getAccountsByUserId(12345L);
+        List<AccountInfo> accountInfos = accountService.getAccountsByUserId(12345L);
 
         // then
-        assertEquals("1111111111", accountDtos.get(0).getAccountNumber());
-        assertEquals(1000L, accountDtos.get(0).getBalance());
-        assertEquals("2222222222", accountDtos.get(1).getAccountNumber());
-        assertEquals(2222L, accountDtos.get(1).getBalance());
-        assertEquals("3333333333", accountDtos.get(2).getAccountNumber());
-        assertEquals(3333L, accountDtos.get(2).getBalance());
+        assertEquals("1111111111", accountInfos.get(0).getAccountNumber());
+        assertEquals(1000L, accountInfos.get(0).getBalance());
+        assertEquals("2222222222", accountInfos.get(1).getAccountNumber());
+        assertEquals(2222L, accountInfos.get(1).getBalance());
+        assertEquals("3333333333", accountInfos.get(2).getAccountNumber());
+        assertEquals(3333L, accountInfos.get(2).getBalance());
     }
 
     @Test
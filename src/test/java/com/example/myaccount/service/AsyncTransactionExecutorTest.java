@@ -0,0 +1,147 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.type.ErrorCode;
+import com.example.myaccount.type.LockFailurePolicy;
+import com.example.myaccount.type.TransactionExecutionMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncTransactionExecutorTest {
+
+    @Mock
+    private AsyncLockBackend asyncLockBackend;
+
+    private AccountCommandExecutor accountCommandExecutor;
+    private AsyncTransactionExecutor asyncTransactionExecutor;
+
+    @AfterEach
+    void tearDown() {
+        asyncTransactionExecutor.shutdown();
+        accountCommandExecutor.shutdown();
+    }
+
+    private AsyncTransactionExecutor createExecutor(LockBackend lockBackend) {
+        return createExecutor(lockBackend, LockFailurePolicy.FAIL_CLOSED, null);
+    }
+
+    // 오류 한 번에 차단기가 열린다.
+    private AsyncTransactionExecutor createExecutor(LockBackend lockBackend,
+                                                    LockFailurePolicy policy,
+                                                    LockBackend fallbackBackend) {
+        accountCommandExecutor = new AccountCommandExecutor(1, 10, 5_000);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LockCircuitBreaker circuitBreaker = new LockCircuitBreaker(
+                policy, fallbackBackend, 1, 60_000, meterRegistry);
+        return new AsyncTransactionExecutor(
+                new LockService(lockBackend, circuitBreaker, meterRegistry, 16),
+                accountCommandExecutor, TransactionExecutionMode.LOCK,
+                true, 4, 10, false);
+    }
+
+    @Test
+    void submit_비동기_락을_잡은_소유자로_작업_후_락을_해제한다() throws Exception {
+        // given
+        asyncTransactionExecutor = createExecutor(asyncLockBackend);
+        given(asyncLockBackend.tryLockAsync(anyString(), anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(CompletableFuture.completedFuture(true));
+        given(asyncLockBackend.unlockAsync(anyString(), anyLong()))
+                .willReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        String threadName = asyncTransactionExecutor.submit("1000000000",
+                () -> Thread.currentThread().getName()
+        ).get(5, TimeUnit.SECONDS);
+
+        // then
+        ArgumentCaptor<Long> lockOwner = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Long> unlockOwner = ArgumentCaptor.forClass(Long.class);
+        verify(asyncLockBackend).tryLockAsync(eq("1000000000"), anyLong(), anyLong(),
+                any(), lockOwner.capture());
+        verify(asyncLockBackend, timeout(1000)).unlockAsync(eq("1000000000"),
+                unlockOwner.capture());
+        assertEquals(lockOwner.getValue(), unlockOwner.getValue());
+        assertTrue(threadName.startsWith("account-async-"));
+    }
+
+    @Test
+    void submit_비동기_락_획득에_실패하면_작업을_실행하지_않는다() {
+        // given
+        asyncTransactionExecutor = createExecutor(asyncLockBackend);
+        given(asyncLockBackend.tryLockAsync(anyString(), anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(CompletableFuture.completedFuture(false));
+        boolean[] executed = {false};
+
+        // when
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> asyncTransactionExecutor.submit("1000000000", () -> {
+                    executed[0] = true;
+                    return null;
+                }).get(5, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) exception.getCause()).getErrorCode());
+        assertFalse(executed[0]);
+        verify(asyncLockBackend, never()).unlockAsync(anyString(), anyLong());
+    }
+
+    @Test
+    void submit_로컬_락은_executor_스레드에서_잡고_해제한다() throws Exception {
+        // given
+        LocalStripedLockBackend localBackend = new LocalStripedLockBackend(16);
+        asyncTransactionExecutor = createExecutor(localBackend);
+
+        // when
+        asyncTransactionExecutor.submit("1000000000", () -> null)
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        assertTrue(localBackend.tryLock("1000000000", 0, 1, TimeUnit.SECONDS));
+        localBackend.unlock("1000000000");
+    }
+
+    @Test
+    void submit_FAIL_OPEN_TO_LOCAL_은_비동기_락_서버_오류에도_로컬_락으로_처리한다()
+            throws Exception {
+        // given
+        LocalStripedLockBackend localBackend = new LocalStripedLockBackend(16);
+        asyncTransactionExecutor = createExecutor(asyncLockBackend,
+                LockFailurePolicy.FAIL_OPEN_TO_LOCAL, localBackend);
+        CompletableFuture<Boolean> redisDown = new CompletableFuture<>();
+        redisDown.completeExceptionally(new IllegalStateException("redis down"));
+        given(asyncLockBackend.tryLockAsync(anyString(), anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(redisDown);
+
+        // when
+        String first = asyncTransactionExecutor.submit("1000000000", () -> "first")
+                .get(5, TimeUnit.SECONDS);
+        String second = asyncTransactionExecutor.submit("1000000000", () -> "second")
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals("first", first);
+        assertEquals("second", second);
+        verify(asyncLockBackend, times(1))      // 차단기가 열린 뒤에는 락 서버를 부르지 않는다.
+                .tryLockAsync(anyString(), anyLong(), anyLong(), any(), anyLong());
+        verify(asyncLockBackend, never()).tryLock(anyString(), anyLong(), anyLong(), any());
+        verify(asyncLockBackend, never()).unlockAsync(anyString(), anyLong());
+        assertTrue(localBackend.tryLock("1000000000", 0, 1, TimeUnit.SECONDS));
+        localBackend.unlock("1000000000");
+    }
+}
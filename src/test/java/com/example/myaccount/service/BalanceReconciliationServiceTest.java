@@ -0,0 +1,229 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.domain.AccountBalanceCheckpoint;
+import com.example.myaccount.domain.BalanceDrift;
+import com.example.myaccount.domain.ReconciliationCheckpoint;
+import com.example.myaccount.dto.Reconciliation;
+import com.example.myaccount.repository.AccountBalanceCheckpointRepository;
+import com.example.myaccount.repository.AccountRepository;
+import com.example.myaccount.repository.BalanceDriftRepository;
+import com.example.myaccount.repository.ReconciliationCheckpointRepository;
+import com.example.myaccount.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.myaccount.type.TransactionResultType.S;
+import static com.example.myaccount.type.TransactionType.CANCEL;
+import static com.example.myaccount.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceReconciliationServiceTest {
+    private static final LocalDate RUN_DATE = LocalDate.of(2022, 6, 1);
+    private static final LocalDateTime TRANSACTION_AT = LocalDateTime.of(2022, 5, 31, 12, 0);
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private ReconciliationCheckpointRepository checkpointRepository;
+    @Mock
+    private BalanceDriftRepository balanceDriftRepository;
+    @Mock
+    private AccountBalanceCheckpointRepository balanceCheckpointRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BalanceReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciliationService = new BalanceReconciliationService(
+                accountRepository, transactionRepository, checkpointRepository,
+                balanceDriftRepository, balanceCheckpointRepository,
+                transactionManager, meterRegistry, true, 1000, 2, 0, 60_000);
+    }
+
+    private static Reconciliation.LedgerEntry entry(
+            long accountId, long transactionId, long amount, long snapshot) {
+        return new Reconciliation.LedgerEntry(accountId, transactionId, transactionId,
+                amount < 0 ? USE : CANCEL, Math.abs(amount), snapshot,
+                TRANSACTION_AT.plusSeconds(transactionId));
+    }
+
+    @Test
+    void reconcile_원장과_다른_계좌와_처음_어긋난_거래를_기록한다() {
+        // given
+        given(accountRepository.findMinId()).willReturn(Optional.of(1L));
+        given(accountRepository.findMaxId()).willReturn(Optional.of(2L));
+        given(accountRepository.findBalancesInRange(anyLong(), anyLong()))
+                .willAnswer(invocation -> Stream.of(
+                        new Reconciliation.AccountBalance(1L, "1000000000", 10_000L, 8_000L),
+                        new Reconciliation.AccountBalance(2L, "2000000000", 10_000L, 9_000L))
+                        .filter(account -> account.getAccountId() >= invocation.<Long>getArgument(0)
+                                && account.getAccountId() < invocation.<Long>getArgument(1))
+                        .collect(Collectors.toList()));
+        given(transactionRepository.streamLedgerInRange(anyLong(), anyLong(), any(), eq(S)))
+                .willAnswer(invocation -> Stream.of(
+                        entry(1L, 11L, -3_000L, 7_000L),
+                        entry(1L, 12L, 1_000L, 8_000L),
+                        entry(2L, 21L, -1_000L, 9_000L),
+                        entry(2L, 22L, -500L, 9_000L))     // 스냅샷 8,500 이어야 한다.
+                        .filter(e -> e.getAccountId() >= invocation.<Long>getArgument(0)
+                                && e.getAccountId() < invocation.<Long>getArgument(1)));
+        ArgumentCaptor<List<BalanceDrift>> driftCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<ReconciliationCheckpoint> checkpointCaptor =
+                ArgumentCaptor.forClass(ReconciliationCheckpoint.class);
+
+        // when
+        Reconciliation.Result result = reconciliationService.reconcile(RUN_DATE);
+
+        // then
+        verify(balanceDriftRepository).saveAll(driftCaptor.capture());
+        verify(checkpointRepository).save(checkpointCaptor.capture());
+        List<BalanceDrift> drifts = driftCaptor.getValue();
+        assertEquals(1, drifts.size());
+        assertEquals(2L, drifts.get(0).getAccountId());
+        assertEquals(8_500L, drifts.get(0).getExpectedBalance());
+        assertEquals(9_000L, drifts.get(0).getActualBalance());
+        assertEquals(22L, drifts.get(0).getFirstDivergentTransactionId());
+        assertEquals(0L, checkpointCaptor.getValue().getRangeStart());
+        assertEquals(1000L, checkpointCaptor.getValue().getRangeEnd());
+        assertEquals(2, checkpointCaptor.getValue().getAccountsChecked());
+        assertEquals(2, result.getAccountsChecked());
+        assertEquals(1, result.getDrifts());
+        assertEquals(1.0, meterRegistry.counter("account.reconciliation.drifts").count());
+    }
+
+    @Test
+    void reconcile_체크포인트가_있는_범위는_건너뛰고_남은_범위만_검사한다() {
+        // given
+        given(accountRepository.findMinId()).willReturn(Optional.of(1L));
+        given(accountRepository.findMaxId()).willReturn(Optional.of(1_500L));
+        given(checkpointRepository.existsByRunDateAndRangeStart(RUN_DATE, 0L))
+                .willReturn(true);
+        given(checkpointRepository.existsByRunDateAndRangeStart(RUN_DATE, 1000L))
+                .willReturn(false);
+        given(accountRepository.findBalancesInRange(1000L, 2000L))
+                .willReturn(Collections.singletonList(
+                        new Reconciliation.AccountBalance(1_500L, "1000001500", 0L, 0L)));
+        given(transactionRepository.streamLedgerInRange(eq(1000L), eq(2000L), any(), eq(S)))
+                .willReturn(Stream.empty());
+
+        // when
+        Reconciliation.Result result = reconciliationService.reconcile(RUN_DATE);
+
+        // then
+        verify(accountRepository, never()).findBalancesInRange(eq(0L), anyLong());
+        assertEquals(1, result.getRangesChecked());
+        assertEquals(1, result.getRangesSkipped());
+        assertEquals(0, result.getDrifts());
+    }
+
+    @Test
+    void reconcile_개설_잔액이_없는_계좌는_첫_거래의_스냅샷에서_시작한다() {
+        // given
+        given(accountRepository.findMinId()).willReturn(Optional.of(1L));
+        given(accountRepository.findMaxId()).willReturn(Optional.of(1L));
+        given(accountRepository.findBalancesInRange(0L, 1000L))
+                .willReturn(Arrays.asList(
+                        new Reconciliation.AccountBalance(1L, "1000000000", null, 6_000L)));
+        given(transactionRepository.streamLedgerInRange(eq(0L), eq(1000L), any(), eq(S)))
+                .willReturn(Stream.of(
+                        entry(1L, 11L, -2_000L, 8_000L),
+                        entry(1L, 12L, -2_000L, 6_000L)));
+
+        // when
+        Reconciliation.Result result = reconciliationService.reconcile(RUN_DATE);
+
+        // then
+        verify(balanceDriftRepository).saveAll(Collections.emptyList());
+        assertEquals(1, result.getAccountsChecked());
+        assertEquals(0, result.getDrifts());
+    }
+
+    @Test
+    void reconcile_계좌마다_체크포인트_간격마다_잔액_체크포인트를_남긴다() {
+        // given
+        reconciliationService = new BalanceReconciliationService(
+                accountRepository, transactionRepository, checkpointRepository,
+                balanceDriftRepository, balanceCheckpointRepository,
+                transactionManager, meterRegistry, true, 1000, 2, 2, 60_000);
+        given(accountRepository.findMinId()).willReturn(Optional.of(1L));
+        given(accountRepository.findMaxId()).willReturn(Optional.of(1L));
+        given(accountRepository.findBalancesInRange(0L, 1000L))
+                .willReturn(Collections.singletonList(
+                        new Reconciliation.AccountBalance(1L, "1000000000", 10_000L, 7_000L)));
+        given(transactionRepository.streamLedgerInRange(eq(0L), eq(1000L), any(), eq(S)))
+                .willReturn(Stream.of(
+                        entry(1L, 11L, -1_000L, 9_000L),
+                        entry(1L, 12L, -1_000L, 8_000L),
+                        entry(1L, 13L, -1_000L, 7_000L)));
+        ArgumentCaptor<List<AccountBalanceCheckpoint>> checkpointCaptor =
+                ArgumentCaptor.forClass(List.class);
+
+        // when
+        reconciliationService.reconcile(RUN_DATE);
+
+        // then
+        verify(balanceCheckpointRepository).saveAll(checkpointCaptor.capture());
+        List<AccountBalanceCheckpoint> checkpoints = checkpointCaptor.getValue();
+        assertEquals(1, checkpoints.size());
+        assertEquals(12L, checkpoints.get(0).getLedgerId());
+        assertEquals(8_000L, checkpoints.get(0).getBalance());
+    }
+
+    @Test
+    void reconcile_체크포인트가_있는_계좌는_체크포인트_잔액에서_이후_거래만_적용한다() {
+        // given
+        given(accountRepository.findMinId()).willReturn(Optional.of(1L));
+        given(accountRepository.findMaxId()).willReturn(Optional.of(1L));
+        given(balanceCheckpointRepository.findLatestInRange(anyLong(), anyLong()))
+                .willReturn(Collections.singletonList(AccountBalanceCheckpoint.builder()
+                        .accountId(1L)
+                        .ledgerId(12L)
+                        .transactionAt(TRANSACTION_AT.plusSeconds(12))
+                        .balance(8_000L)
+                        .build()));
+        given(accountRepository.findBalancesInRange(anyLong(), anyLong()))
+                .willReturn(Collections.singletonList(
+                        new Reconciliation.AccountBalance(1L, "1000000000", 10_000L, 6_000L)));
+        given(transactionRepository.streamLedgerInRange(anyLong(), anyLong(), any(), eq(S)))
+                .willAnswer(invocation -> Stream.of(
+                        entry(1L, 11L, -1_000L, 9_000L),    // 체크포인트 이전 거래는 건너뛴다.
+                        entry(1L, 12L, -1_000L, 8_000L),
+                        entry(1L, 13L, -1_000L, 7_000L)));
+        ArgumentCaptor<List<BalanceDrift>> driftCaptor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        Reconciliation.Result result = reconciliationService.reconcile(RUN_DATE);
+
+        // then
+        verify(balanceDriftRepository).saveAll(driftCaptor.capture());
+        assertEquals(1, result.getDrifts());    // 7,000 으로 계산되지만 잔액은 6,000
+        assertEquals(7_000L, driftCaptor.getValue().get(0).getExpectedBalance());
+        assertNull(driftCaptor.getValue().get(0).getFirstDivergentTransactionId());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.myaccount.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockAccountNumberAllocatorTest {
+
+    // 여러 노드가 공유하는 블록 저장소(DB 시퀀스, Redis)를 흉내낸다.
+    private static class InMemoryAllocator extends BlockAccountNumberAllocator {
+        private final AtomicLong blockSequence;
+
+        InMemoryAllocator(AtomicLong blockSequence, long blockSize) {
+            super(blockSize);
+            this.blockSequence = blockSequence;
+        }
+
+        @Override
+        protected long reserveBlock() {
+            return blockSequence.getAndIncrement();
+        }
+    }
+
+    @Test
+    void nextAccountNumber_처음_발급하는_계좌번호는_1000000000_이다() {
+        // given
+        AccountNumberAllocator allocator =
+                new InMemoryAllocator(new AtomicLong(), 10);
+
+        // when
+        // then
+        assertEquals("1000000000", allocator.nextAccountNumber());
+        assertEquals("1000000001", allocator.nextAccountNumber());
+    }
+
+    @Test
+    void nextAccountNumber_블록을_모두_사용하면_다음_블록을_예약한다() {
+        // given
+        AtomicLong blockSequence = new AtomicLong();
+        AccountNumberAllocator allocator = new InMemoryAllocator(blockSequence, 2);
+
+        // when
+        allocator.nextAccountNumber();
+        allocator.nextAccountNumber();
+        String third = allocator.nextAccountNumber();
+
+        // then
+        assertEquals("1000000002", third);
+        assertEquals(2L, blockSequence.get());
+    }
+
+    @Test
+    void nextAccountNumber_여러_노드에서_동시에_발급해도_중복되지_않는다()
+            throws Exception {
+        // given
+        int nodes = 4;
+        int threads = 32;
+        int createsPerThread = 250;   // 총 8000 건
+
+        AtomicLong sharedBlockSequence = new AtomicLong();
+        List<AccountNumberAllocator> allocators = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            allocators.add(new InMemoryAllocator(sharedBlockSequence, 17));
+        }
+
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            AccountNumberAllocator allocator = allocators.get(t % nodes);
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int i = 0; i < createsPerThread; i++) {
+                    assertTrue(issued.add(allocator.nextAccountNumber()));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        // then
+        assertEquals(threads * createsPerThread, issued.size());
+        issued.forEach(accountNumber ->
+                assertEquals(10, accountNumber.length()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.myaccount.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashLockShardRouterTest {
+
+    private static Map<String, String> shards(int count) {
+        Map<String, String> shards = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String address = "redis://127.0.0.1:" + (6381 + i);
+            shards.put(address, address);
+        }
+        return shards;
+    }
+
+    @Test
+    void route_계좌가_샤드에_고르게_나뉜다() {
+        // given
+        LockShardRouter<String> router =
+                new ConsistentHashLockShardRouter<>(shards(4), 160);
+        Map<String, Integer> counts = new HashMap<>();
+
+        // when
+        for (long accountNumber = 1_000_000_000L; accountNumber < 1_000_040_000L; accountNumber++) {
+            counts.merge(router.route(String.valueOf(accountNumber)), 1, Integer::sum);
+        }
+
+        // then
+        assertEquals(4, counts.size());
+        counts.values().forEach(count ->
+                assertTrue(count > 7_000 && count < 13_000, "count : " + count));
+    }
+
+    @Test
+    void route_샤드를_추가하면_새_샤드로_가는_계좌만_옮겨간다() {
+        // given
+        LockShardRouter<String> before =
+                new ConsistentHashLockShardRouter<>(shards(4), 160);
+        LockShardRouter<String> after =
+                new ConsistentHashLockShardRouter<>(shards(5), 160);
+        String added = "redis://127.0.0.1:6385";
+        int moved = 0;
+
+        // when
+        for (long accountNumber = 1_000_000_000L; accountNumber < 1_000_040_000L; accountNumber++) {
+            String key = String.valueOf(accountNumber);
+            String from = before.route(key);
+            String to = after.route(key);
+            if (!from.equals(to)) {
+                moved++;
+                assertEquals(added, to);
+            }
+        }
+
+        // then
+        assertTrue(moved > 4_000 && moved < 12_000, "moved : " + moved);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.domain.Account;
+import com.example.myaccount.domain.Transaction;
+import com.example.myaccount.repository.AccountRepository;
+import com.example.myaccount.repository.TransactionRepository;
+import com.example.myaccount.type.TransactionResultType;
+import com.example.myaccount.type.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionRecorderTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private FailedTransactionRecorder createRecorder(int queueCapacity) {
+        return new FailedTransactionRecorder(accountRepository,
+                transactionRepository, new SnowflakeTransactionIdGenerator(0),
+                transactionManager, meterRegistry,
+                100, 10, queueCapacity);
+    }
+
+    @Test
+    void record_모아서_실패_거래로_저장한다() {
+        // given
+        FailedTransactionRecorder recorder = createRecorder(100);
+        recorder.start();
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(Collections.singletonList(Account.builder()
+                        .accountNumber("1000000000")
+                        .balance(1000L)
+                        .build()));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> captor =
+                ArgumentCaptor.forClass(List.class);
+
+        // when
+        recorder.record(TransactionType.USE, "1000000000", 100L);
+        recorder.record(TransactionType.CANCEL, "1000000000", 200L);
+        recorder.stop();    // 남은 항목을 flush 한 뒤 종료
+
+        // then
+        verify(transactionRepository, atLeastOnce()).saveAll(captor.capture());
+        List<Transaction> saved = captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        assertEquals(2, saved.size());
+        assertEquals(TransactionResultType.F, saved.get(0).getTransactionResultType());
+        assertEquals(1000L, saved.get(0).getBalanceSnapShot());
+        assertEquals(2.0, meterRegistry.get("account.ledger.failed.records")
+                .tag("result", "written").counter().count());
+    }
+
+    @Test
+    void record_큐가_가득_차면_버리고_집계한다() {
+        // given
+        FailedTransactionRecorder recorder = createRecorder(2);   // flush 스레드 시작 전
+
+        // when
+        boolean first = recorder.record(TransactionType.USE, "1000000000", 100L);
+        boolean second = recorder.record(TransactionType.USE, "1000000000", 100L);
+        boolean third = recorder.record(TransactionType.USE, "1000000000", 100L);
+
+        // then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(1.0, meterRegistry.get("account.ledger.failed.records")
+                .tag("result", "dropped").counter().count());
+        assertEquals(0.0, meterRegistry.get("account.ledger.failed.queue.remaining")
+                .gauge().value());
+        verifyNoInteractions(transactionRepository);
+    }
+}
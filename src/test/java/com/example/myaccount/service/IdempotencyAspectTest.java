@@ -0,0 +1,187 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.dto.UseBalance;
+import com.example.myaccount.exception.IdempotencyConflictException;
+import com.example.myaccount.type.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+    private static final String KEY = "/transaction/use:user:1:key-1";
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+    @Mock
+    private ProceedingJoinPoint pjp;
+    @Mock
+    private MethodSignature signature;
+
+    private IdempotencyAspect idempotencyAspect;
+
+    private MockHttpServletRequest request;
+    private Object[] args;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyAspect = new IdempotencyAspect(idempotencyStore, new ObjectMapper());
+        request = new MockHttpServletRequest("POST", "/transaction/use");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        args = new Object[]{new UseBalance.Request(1L, "1000000000", 1000L)};
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void aroundMethod_저장된_응답이_있으면_실행하지_않고_돌려준다() throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        UseBalance.Response stored = UseBalance.Response.builder()
+                .transactionId("tid").build();
+        given(pjp.getArgs()).willReturn(args);
+        given(pjp.getSignature()).willReturn(signature);
+        given(signature.getReturnType()).willReturn(CompletableFuture.class);
+        given(idempotencyStore.get(KEY)).willReturn(Optional.of(new IdempotencyStore.Entry(
+                idempotencyAspect.fingerprint(args), stored)));
+
+        // when
+        Object result = idempotencyAspect.aroundMethod(pjp);
+
+        // then
+        verify(pjp, never()).proceed();
+        assertSame(stored, ((CompletableFuture<?>) result).get());
+    }
+
+    @Test
+    void aroundMethod_같은_키로_다른_본문이_오면_거절한다() throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        Object[] otherArgs = {new UseBalance.Request(1L, "1000000000", 2000L)};
+        given(pjp.getArgs()).willReturn(args);
+        given(pjp.getSignature()).willReturn(signature);
+        given(signature.getReturnType()).willReturn(CompletableFuture.class);
+        given(idempotencyStore.get(KEY)).willReturn(Optional.of(new IdempotencyStore.Entry(
+                idempotencyAspect.fingerprint(otherArgs), "response")));
+
+        // when
+        IdempotencyConflictException exception = assertThrows(
+                IdempotencyConflictException.class,
+                () -> idempotencyAspect.aroundMethod(pjp));
+
+        // then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+        verify(pjp, never()).proceed();
+    }
+
+    @Test
+    void aroundMethod_처음_요청은_실행하고_성공한_응답을_저장한다() throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        UseBalance.Response response = UseBalance.Response.builder()
+                .transactionId("tid").build();
+        CompletableFuture<UseBalance.Response> pending = new CompletableFuture<>();
+        given(pjp.getArgs()).willReturn(args);
+        given(pjp.getSignature()).willReturn(signature);
+        given(signature.getReturnType()).willReturn(CompletableFuture.class);
+        given(idempotencyStore.get(anyString())).willReturn(Optional.empty());
+        given(idempotencyStore.reserve(KEY)).willReturn("token");
+        given(pjp.proceed()).willReturn(pending);
+
+        // when
+        Object first = idempotencyAspect.aroundMethod(pjp);
+        Object joined = idempotencyAspect.aroundMethod(pjp);
+        pending.complete(response);
+
+        // then
+        verify(pjp, times(1)).proceed();
+        verify(idempotencyStore, times(1)).reserve(KEY);
+        verify(idempotencyStore, times(1))
+                .put(KEY, idempotencyAspect.fingerprint(args), response);
+        verify(idempotencyStore, times(1)).release(KEY, "token");
+        assertSame(response, ((CompletableFuture<?>) first).get());
+        assertSame(response, ((CompletableFuture<?>) joined).get());
+    }
+
+    @Test
+    void aroundMethod_예약_직전에_다른_요청이_끝냈으면_실행하지_않고_저장된_응답을_돌려준다()
+            throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        UseBalance.Response stored = UseBalance.Response.builder()
+                .transactionId("tid").build();
+        given(pjp.getArgs()).willReturn(args);
+        given(pjp.getSignature()).willReturn(signature);
+        given(signature.getReturnType()).willReturn(CompletableFuture.class);
+        given(idempotencyStore.get(KEY))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(new IdempotencyStore.Entry(
+                        idempotencyAspect.fingerprint(args), stored)));
+        given(idempotencyStore.reserve(KEY)).willReturn("token");
+
+        // when
+        Object result = idempotencyAspect.aroundMethod(pjp);
+
+        // then
+        verify(pjp, never()).proceed();
+        verify(idempotencyStore, times(1)).release(KEY, "token");
+        verify(idempotencyStore, never()).put(anyString(), anyString(), any());
+        assertSame(stored, ((CompletableFuture<?>) result).get());
+    }
+
+    @Test
+    void aroundMethod_다른_노드가_처리_중이면_실행하지_않고_거절한다() throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        given(pjp.getArgs()).willReturn(args);
+        given(pjp.getSignature()).willReturn(signature);
+        given(signature.getReturnType()).willReturn(CompletableFuture.class);
+        given(idempotencyStore.get(KEY)).willReturn(Optional.empty());
+        given(idempotencyStore.reserve(KEY)).willReturn(null);
+
+        // when
+        IdempotencyConflictException exception = assertThrows(
+                IdempotencyConflictException.class,
+                () -> idempotencyAspect.aroundMethod(pjp));
+
+        // then
+        assertEquals(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS, exception.getErrorCode());
+        verify(pjp, never()).proceed();
+        verify(idempotencyStore, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void aroundMethod_헤더가_없으면_저장소를_사용하지_않는다() throws Throwable {
+        // given
+        given(pjp.proceed()).willReturn("response");
+
+        // when
+        Object result = idempotencyAspect.aroundMethod(pjp);
+
+        // then
+        assertEquals("response", result);
+        verify(idempotencyStore, never()).get(anyString());
+        verify(idempotencyStore, never()).put(anyString(), anyString(), any());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.config.LatencyInjectionProperties;
+import com.example.myaccount.type.LatencyLayer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyInjectionAspectTest {
+
+    private static LatencyInjectionProperties.Rule rule(
+            String endpoint, LatencyLayer layer, long delayMs) {
+        LatencyInjectionProperties.Rule rule = new LatencyInjectionProperties.Rule();
+        rule.setEndpoint(endpoint);
+        rule.setLayer(layer);
+        rule.setDelayMs(delayMs);
+        return rule;
+    }
+
+    @Test
+    void delayOf_요청_URI_와_계층이_맞는_규칙만_적용한다() {
+        // given
+        LatencyInjectionProperties properties = new LatencyInjectionProperties();
+        properties.getRules().add(rule("/transaction/use", LatencyLayer.LOCK, 5000));
+        properties.getRules().add(rule("/transaction/**", LatencyLayer.REPOSITORY, 10));
+        LatencyInjectionAspect aspect = new LatencyInjectionAspect(properties);
+
+        // when
+        // then
+        assertEquals(5000, aspect.delayOf(LatencyLayer.LOCK, "/transaction/use"));
+        assertEquals(0, aspect.delayOf(LatencyLayer.LOCK, "/transaction/cancel"));
+        assertEquals(10, aspect.delayOf(LatencyLayer.REPOSITORY, "/transaction/cancel"));
+        assertEquals(0, aspect.delayOf(LatencyLayer.SERVICE, "/transaction/use"));
+    }
+
+    @Test
+    void delayOf_요청_밖에서는_모든_endpoint_규칙만_적용한다() {
+        // given
+        LatencyInjectionProperties properties = new LatencyInjectionProperties();
+        properties.getRules().add(rule("/transaction/use", LatencyLayer.SERVICE, 100));
+        properties.getRules().add(rule("/**", LatencyLayer.SERVICE, 20));
+        LatencyInjectionAspect aspect = new LatencyInjectionAspect(properties);
+
+        // when
+        // then
+        assertEquals(20, aspect.delayOf(LatencyLayer.SERVICE, null));
+        assertEquals(120, aspect.delayOf(LatencyLayer.SERVICE, "/transaction/use"));
+    }
+}
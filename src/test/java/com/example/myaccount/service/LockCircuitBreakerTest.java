@@ -0,0 +1,113 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.type.LockCircuitState;
+import com.example.myaccount.type.LockFailurePolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockCircuitBreakerTest {
+
+    // 시간을 직접 움직이는 차단기
+    private static class ManualClockCircuitBreaker extends LockCircuitBreaker {
+        private long now;
+
+        ManualClockCircuitBreaker(SimpleMeterRegistry meterRegistry) {
+            super(LockFailurePolicy.FAIL_CLOSED, null, 3, 1_000, meterRegistry);
+        }
+
+        void advanceMillis(long millis) {
+            now += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        protected long nanoTime() {
+            return now;
+        }
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ManualClockCircuitBreaker circuitBreaker =
+            new ManualClockCircuitBreaker(meterRegistry);
+
+    @Test
+    void onFailure_연속_실패가_임계치에_닿으면_OPEN_이_된다() {
+        // given
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();     // 연속이 끊긴다.
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        // when
+        boolean closedBefore = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onFailure();
+
+        // then
+        assertTrue(closedBefore);
+        assertEquals(LockCircuitState.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(1.0, meterRegistry.counter("account.lock.circuit.rejected").count());
+        assertEquals(1.0, meterRegistry.get("account.lock.circuit.state").gauge().value());
+    }
+
+    @Test
+    void tryAcquirePermission_OPEN_이_끝나면_요청_하나만_보낸다() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+        circuitBreaker.advanceMillis(1_000);
+
+        // when
+        boolean probe = circuitBreaker.tryAcquirePermission();
+        boolean other = circuitBreaker.tryAcquirePermission();
+
+        // then
+        assertTrue(probe);
+        assertFalse(other);
+        assertEquals(LockCircuitState.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void onSuccess_탐색_요청이_성공하면_CLOSED_가_된다() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+        circuitBreaker.advanceMillis(1_000);
+        circuitBreaker.tryAcquirePermission();
+
+        // when
+        circuitBreaker.onSuccess();
+
+        // then
+        assertEquals(LockCircuitState.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(1.0, meterRegistry.counter("account.lock.circuit.transitions",
+                "state", "CLOSED").count());
+    }
+
+    @Test
+    void onFailure_탐색_요청이_실패하면_다시_OPEN_기간을_기다린다() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+        circuitBreaker.advanceMillis(1_000);
+        circuitBreaker.tryAcquirePermission();
+
+        // when
+        circuitBreaker.onFailure();
+        circuitBreaker.advanceMillis(999);
+
+        // then
+        assertEquals(LockCircuitState.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.advanceMillis(1);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+}
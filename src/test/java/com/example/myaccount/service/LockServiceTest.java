@@ -0,0 +1,220 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.type.ErrorCode;
+import com.example.myaccount.type.LockFailurePolicy;
+import com.example.myaccount.type.LockLeaseMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LockServiceTest {
+
+    @Mock
+    private LockBackend distributedBackend;
+    @Mock
+    private FencingLockBackend fencingBackend;
+
+    private static LockService createLockService(LockBackend lockBackend) {
+        return createLockService(lockBackend, new SimpleMeterRegistry());
+    }
+
+    private static LockService createLockService(LockBackend lockBackend,
+                                                 MeterRegistry meterRegistry) {
+        return new LockService(lockBackend,
+                new LockCircuitBreaker(LockFailurePolicy.FAIL_CLOSED, null,
+                        5, 5_000, meterRegistry),
+                meterRegistry, 16);
+    }
+
+    @Test
+    void lock_로컬_모드에서_다른_스레드가_잡은_계좌는_락_획득에_실패한다()
+            throws Exception {
+        // given
+        LockService lockService = createLockService(new LocalStripedLockBackend(16));
+        lockService.lock("1000000000");
+
+        // when
+        AccountException exception = CompletableFuture.supplyAsync(() ->
+                assertThrows(AccountException.class,
+                        () -> lockService.lock("1000000000"))
+        ).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        lockService.unLock("1000000000");
+    }
+
+    @Test
+    void lock_하이브리드_모드는_분산_락_실패시_로컬_스트라이프를_반납한다()
+            throws Exception {
+        // given
+        LocalStripedLockBackend localBackend = new LocalStripedLockBackend(16);
+        LockService lockService = createLockService(
+                new HybridLockBackend(localBackend, distributedBackend));
+
+        given(distributedBackend.tryLock(anyString(), anyLong(), anyLong(), any()))
+                .willReturn(false);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("1000000000"));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        boolean localReleased = CompletableFuture.supplyAsync(() -> {
+            try {
+                return localBackend.tryLock("1000000000", 0, 1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+        assertTrue(localReleased);
+    }
+
+    @Test
+    void lock_하이브리드_모드는_로컬_스트라이프를_먼저_잡는다() throws Exception {
+        // given
+        LocalStripedLockBackend localBackend = new LocalStripedLockBackend(16);
+        LockService lockService = createLockService(
+                new HybridLockBackend(localBackend, distributedBackend));
+        localBackend.tryLock("1000000000", 0, 1, TimeUnit.SECONDS);
+
+        // when
+        AccountException exception = CompletableFuture.supplyAsync(() ->
+                assertThrows(AccountException.class,
+                        () -> lockService.lock("1000000000"))
+        ).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(distributedBackend, never())
+                .tryLock(anyString(), anyLong(), anyLong(), any());
+        localBackend.unlock("1000000000");
+    }
+
+    @Test
+    void lock_획득_대기와_보유_시간_실패_버킷을_기록한다() throws Exception {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LockService lockService = createLockService(distributedBackend, meterRegistry);
+        given(distributedBackend.tryLock(eq("1000000000"), anyLong(), anyLong(), any()))
+                .willReturn(true);
+        given(distributedBackend.tryLock(eq("2000000000"), anyLong(), anyLong(), any()))
+                .willReturn(false);
+
+        // when
+        lockService.lock("1000000000");
+        lockService.unLock("1000000000");
+        assertThrows(AccountException.class, () -> lockService.lock("2000000000"));
+
+        // then
+        assertEquals(1, meterRegistry.timer("account.lock.acquire",
+                "result", "acquired").count());
+        assertEquals(1, meterRegistry.timer("account.lock.acquire",
+                "result", "failed").count());
+        assertEquals(1, meterRegistry.timer("account.lock.hold").count());
+        String bucket = String.valueOf(lockService.failureBucket("2000000000"));
+        assertEquals(1.0, meterRegistry.counter("account.lock.failures",
+                "bucket", bucket).count());
+    }
+
+    @Test
+    void lock_펜싱을_켜면_토큰을_발급하고_해제할_때_지운다() throws Exception {
+        // given
+        LockService lockService = createLockService(fencingBackend);
+        ReflectionTestUtils.setField(lockService, "fencingEnabled", true);
+        ReflectionTestUtils.setField(lockService, "leaseMode", LockLeaseMode.WATCHDOG);
+        given(fencingBackend.tryLock(anyString(), anyLong(), anyLong(), any()))
+                .willReturn(true);
+        given(fencingBackend.nextFencingToken("1000000000"))
+                .willReturn(42L);
+
+        // when
+        lockService.lock("1000000000");
+        Long heldToken = FencingTokenHolder.get("1000000000");
+        lockService.unLock("1000000000");
+
+        // then
+        assertEquals(42L, heldToken);
+        assertNull(FencingTokenHolder.get("1000000000"));
+        verify(fencingBackend).tryLock("1000000000", 1, -1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void lock_펜싱_토큰_발급에_실패하면_락을_풀고_예외를_던진다()
+            throws Exception {
+        // given
+        LockService lockService = createLockService(fencingBackend);
+        ReflectionTestUtils.setField(lockService, "fencingEnabled", true);
+        given(fencingBackend.tryLock(anyString(), anyLong(), anyLong(), any()))
+                .willReturn(true);
+        given(fencingBackend.nextFencingToken("1000000000"))
+                .willThrow(new IllegalStateException("redis down"));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("1000000000"));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(fencingBackend).unlock("1000000000");
+        assertNull(FencingTokenHolder.get("1000000000"));
+    }
+
+    @Test
+    void lock_FAIL_CLOSED_는_락_서버_오류시_락_없이_진행하지_않는다() throws Exception {
+        // given
+        LockService lockService = createLockService(distributedBackend);
+        given(distributedBackend.tryLock(anyString(), anyLong(), anyLong(), any()))
+                .willThrow(new IllegalStateException("redis down"));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("1000000000"));
+
+        // then
+        assertEquals(ErrorCode.LOCK_SERVICE_UNAVAILABLE, exception.getErrorCode());
+    }
+
+    @Test
+    void lock_FAIL_OPEN_TO_LOCAL_은_차단기가_열리면_로컬_락으로_잡고_로컬에서_푼다()
+            throws Exception {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalStripedLockBackend localBackend = new LocalStripedLockBackend(16);
+        LockService lockService = new LockService(distributedBackend,
+                new LockCircuitBreaker(LockFailurePolicy.FAIL_OPEN_TO_LOCAL,
+                        localBackend, 1, 60_000, meterRegistry),
+                meterRegistry, 16);
+        given(distributedBackend.tryLock(anyString(), anyLong(), anyLong(), any()))
+                .willThrow(new IllegalStateException("redis down"));
+
+        // when
+        lockService.lock("1000000000");     // 실패 후 OPEN, 로컬 락으로 대체
+        lockService.unLock("1000000000");
+        lockService.lock("2000000000");     // 락 서버를 호출하지 않는다.
+        lockService.unLock("2000000000");
+
+        // then
+        verify(distributedBackend, times(1))
+                .tryLock(anyString(), anyLong(), anyLong(), any());
+        verify(distributedBackend, never()).unlock(anyString());
+        assertEquals(2.0, meterRegistry.counter("account.lock.circuit.fallback").count());
+    }
+}
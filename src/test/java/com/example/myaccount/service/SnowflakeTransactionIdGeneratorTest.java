@@ -0,0 +1,87 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.domain.TransactionId;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeTransactionIdGeneratorTest {
+
+    // 시각을 직접 정하는 발급기
+    private static class ManualClockGenerator extends SnowflakeTransactionIdGenerator {
+        private long millis = SnowflakeTransactionIdGenerator.EPOCH_MILLIS + 1000;
+
+        ManualClockGenerator(long nodeId) {
+            super(nodeId);
+        }
+
+        @Override
+        protected long currentMillis() {
+            return millis;
+        }
+    }
+
+    @Test
+    void nextId_같은_노드에서_발급한_id_는_증가하고_중복되지_않는다() {
+        // given
+        TransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(1);
+        Set<Long> issued = new HashSet<>();
+
+        // when
+        long previous = -1;
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+
+            // then
+            assertTrue(id > previous);
+            assertTrue(issued.add(id));
+            previous = id;
+        }
+    }
+
+    @Test
+    void nextId_시계가_뒤로_가도_id_는_줄어들지_않는다() {
+        // given
+        ManualClockGenerator generator = new ManualClockGenerator(1);
+        long first = generator.nextId();
+
+        // when
+        generator.millis -= 500;
+        long second = generator.nextId();
+
+        // then
+        assertTrue(second > first);
+    }
+
+    @Test
+    void nextId_노드_id_가_다르면_같은_시각에도_다른_id_를_발급한다() {
+        // given
+        ManualClockGenerator node1 = new ManualClockGenerator(1);
+        ManualClockGenerator node2 = new ManualClockGenerator(2);
+
+        // when
+        // then
+        assertNotEquals(node1.nextId(), node2.nextId());
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeTransactionIdGenerator(1024));
+    }
+
+    @Test
+    void format_parse_16자리_hex_문자열로_변환한다() {
+        // given
+        long id = new SnowflakeTransactionIdGenerator(3).nextId();
+
+        // when
+        String formatted = TransactionId.format(id);
+
+        // then
+        assertEquals(16, formatted.length());
+        assertEquals(Optional.of(id), TransactionId.parse(formatted));
+        assertEquals(Optional.empty(), TransactionId.parse("c2033bb6d82a4250aecf8e27c49b63f6"));
+        assertEquals(Optional.empty(), TransactionId.parse("000000000000000g"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.dto.UseBalance;
+import com.example.myaccount.dto.UseBalanceBatch;
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.type.ErrorCode;
+import com.example.myaccount.type.TransactionResultType;
+import com.example.myaccount.type.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+    @Mock
+    private LockService lockService;
+    @Mock
+    private AccountCommandExecutor accountCommandExecutor;
+
+    private TransactionBatchService createService() {
+        return new TransactionBatchService(transactionService,
+                new AccountLockExecutor(lockService, accountCommandExecutor));
+    }
+
+    private static List<UseBalanceBatch.Item> succeedAll(List<UseBalance.Request> requests) {
+        return requests.stream()
+                .map(request -> UseBalanceBatch.Item.builder()
+                        .accountNumber(request.getAccountNumber())
+                        .transactionResultType(TransactionResultType.S)
+                        .amount(request.getAmount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void useBalanceBatch_계좌번호_순서대로_계좌마다_한_번씩_락을_잡는다() {
+        // given
+        TransactionBatchService transactionBatchService = createService();
+        given(transactionService.useBalances(anyString(), anyList()))
+                .willAnswer(invocation -> succeedAll(invocation.getArgument(1)));
+
+        // when
+        UseBalanceBatch.Response response = transactionBatchService.useBalanceBatch(
+                Arrays.asList(
+                        new UseBalance.Request(1L, "1000000002", 100L),
+                        new UseBalance.Request(1L, "1000000001", 200L),
+                        new UseBalance.Request(1L, "1000000002", 300L)));
+
+        // then
+        InOrder inOrder = inOrder(lockService);
+        inOrder.verify(lockService).lock("1000000001");
+        inOrder.verify(lockService).unLock("1000000001");
+        inOrder.verify(lockService).lock("1000000002");
+        inOrder.verify(lockService).unLock("1000000002");
+        verify(transactionService, times(2)).useBalances(anyString(), anyList());
+
+        List<UseBalanceBatch.Item> results = response.getResults();
+        assertEquals(3, results.size());
+        assertEquals("1000000002", results.get(0).getAccountNumber());
+        assertEquals(0, results.get(0).getIndex());
+        assertEquals(200L, results.get(1).getAmount());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(300L, results.get(2).getAmount());
+        assertEquals(2, results.get(2).getIndex());
+    }
+
+    @Test
+    void useBalanceBatch_락_획득에_실패한_계좌만_실패로_기록한다() {
+        // given
+        TransactionBatchService transactionBatchService = createService();
+        doThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                .when(lockService).lock("1000000001");
+        given(transactionService.useBalances(eq("1000000002"), anyList()))
+                .willAnswer(invocation -> succeedAll(invocation.getArgument(1)));
+
+        // when
+        UseBalanceBatch.Response response = transactionBatchService.useBalanceBatch(
+                Arrays.asList(
+                        new UseBalance.Request(1L, "1000000001", 100L),
+                        new UseBalance.Request(1L, "1000000002", 200L)));
+
+        // then
+        List<UseBalanceBatch.Item> results = response.getResults();
+        assertEquals(TransactionResultType.F, results.get(0).getTransactionResultType());
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(0).getErrorCode());
+        assertEquals(TransactionResultType.S, results.get(1).getTransactionResultType());
+        verify(transactionService, times(1)).saveFailedTransaction(
+                TransactionType.USE, "1000000001", 100L);
+        verify(lockService, never()).unLock("1000000001");
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.dto.TransactionHistory;
+import com.example.myaccount.exception.AccountException;
+import com.example.myaccount.repository.AccountRepository;
+import com.example.myaccount.repository.TransactionRepository;
+import com.example.myaccount.type.ErrorCode;
+import com.example.myaccount.type.TransactionResultType;
+import com.example.myaccount.type.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionHistoryServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private TransactionHistoryService transactionHistoryService;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 6, 1, 23, 26, 14);
+
+    private static List<TransactionHistory.Item> items(int count) {
+        List<TransactionHistory.Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new TransactionHistory.Item((long) (100 - i), (long) i,
+                    TransactionType.USE, TransactionResultType.S,
+                    100L, 1000L, NOW.minusSeconds(i)));
+        }
+        return items;
+    }
+
+    @Test
+    void getTransactionHistory_다음_페이지가_있으면_마지막_건으로_커서를_만든다() {
+        // given
+        given(accountRepository.findIdByAccountNumber(anyString()))
+                .willReturn(Optional.of(1L));
+        given(transactionRepository.findHistory(1L, PageRequest.of(0, 3)))
+                .willReturn(items(3));
+
+        // when
+        TransactionHistory.Response response = transactionHistoryService
+                .getTransactionHistory("1000000000", null, 2);
+
+        // then
+        assertEquals(2, response.getTransactions().size());
+        assertEquals(NOW.minusSeconds(1) + "_99", response.getNextCursor());
+    }
+
+    @Test
+    void getTransactionHistory_커서_이후의_거래를_조회한다() {
+        // given
+        given(accountRepository.findIdByAccountNumber(anyString()))
+                .willReturn(Optional.of(1L));
+        given(transactionRepository.findHistoryAfter(eq(1L), eq(NOW), eq(99L), any()))
+                .willReturn(items(1));
+
+        // when
+        TransactionHistory.Response response = transactionHistoryService
+                .getTransactionHistory("1000000000", NOW + "_99", 20);
+
+        // then
+        assertEquals(1, response.getTransactions().size());
+        assertNull(response.getNextCursor());
+        verify(transactionRepository, never()).findHistory(anyLong(), any());
+    }
+
+    @Test
+    void getTransactionHistory_커서_형식이_틀리면_실패한다() {
+        // given
+        given(accountRepository.findIdByAccountNumber(anyString()))
+                .willReturn(Optional.of(1L));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionHistoryService.getTransactionHistory(
+                        "1000000000", "not-a-cursor", 20));
+
+        // then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @Test
+    void getTransactionHistory_계좌가_없으면_실패한다() {
+        // given
+        given(accountRepository.findIdByAccountNumber(anyString()))
+                .willReturn(Optional.empty());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionHistoryService.getTransactionHistory(
+                        "1000000000", null, 20));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+        verify(transactionRepository, never()).findHistory(anyLong(), any());
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.myaccount.service;
+
+import com.example.myaccount.domain.Account;
+import com.example.myaccount.domain.LedgerDeadLetter;
+import com.example.myaccount.domain.Transaction;
+import com.example.myaccount.repository.LedgerDeadLetterRepository;
+import com.example.myaccount.repository.TransactionRepository;
+import com.example.myaccount.type.LedgerWriteMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionLedgerWriterTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private LedgerDeadLetterRepository ledgerDeadLetterRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionLedgerWriter transactionLedgerWriter;
+
+    @AfterEach
+    void tearDown() {
+        transactionLedgerWriter.stop();
+    }
+
+    private TransactionLedgerWriter createWriter(LedgerWriteMode writeMode) {
+        TransactionLedgerWriter writer = new TransactionLedgerWriter(
+                transactionRepository, ledgerDeadLetterRepository,
+                transactionManager, new SimpleMeterRegistry(), writeMode,
+                10, 20, 1000, 5000, 3, 1);
+        writer.start();
+        return writer;
+    }
+
+    @Test
+    void write_SYNC_모드는_바로_저장한다() {
+        // given
+        transactionLedgerWriter = createWriter(LedgerWriteMode.SYNC);
+        Transaction transaction = Transaction.builder().amount(100L).build();
+        given(transactionRepository.save(any()))
+                .willReturn(transaction);
+
+        // when
+        Transaction saved = transactionLedgerWriter.write(transaction);
+
+        // then
+        verify(transactionRepository, times(1)).save(transaction);
+        verify(transactionRepository, never()).saveAll(any());
+        assertSame(transaction, saved);
+    }
+
+    @Test
+    void write_GROUP_COMMIT_모드는_여러_건을_배치로_저장한_뒤_응답한다()
+            throws Exception {
+        // given
+        transactionLedgerWriter = createWriter(LedgerWriteMode.GROUP_COMMIT);
+        AtomicInteger savedCount = new AtomicInteger();
+        given(transactionRepository.saveAll(anyList()))
+                .willAnswer(invocation -> {
+                    List<Transaction> batch = invocation.getArgument(0);
+                    savedCount.addAndGet(batch.size());
+                    return batch;
+                });
+        ExecutorService executorService = Executors.newFixedThreadPool(30);
+        List<Future<Transaction>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 30; i++) {
+            Transaction transaction = Transaction.builder().amount((long) i).build();
+            futures.add(executorService.submit(
+                    () -> transactionLedgerWriter.write(transaction)));
+        }
+        for (Future<Transaction> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        // then
+        verify(transactionRepository, never()).save(any());
+        verify(transactionManager, atLeastOnce()).commit(any());
+        assertEquals(30, savedCount.get());
+    }
+
+    @Test
+    void write_GROUP_COMMIT_모드는_배치가_실패하면_한_건씩_다시_저장하고_응답한다() {
+        // given
+        transactionLedgerWriter = createWriter(LedgerWriteMode.GROUP_COMMIT);
+        Transaction transaction = Transaction.builder().amount(100L).build();
+        given(transactionRepository.saveAll(anyList()))
+                .willThrow(new IllegalStateException("db down"));
+        given(transactionRepository.save(transaction))
+                .willThrow(new IllegalStateException("db down"))
+                .willReturn(transaction);
+
+        // when
+        Transaction written = transactionLedgerWriter.write(transaction);
+
+        // then
+        assertSame(transaction, written);
+        verify(transactionRepository, times(2)).save(transaction);
+        verify(ledgerDeadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void write_제약_조건을_위반한_거래만_dead_letter_로_남기고_나머지는_저장한다() {
+        // given
+        transactionLedgerWriter = createWriter(LedgerWriteMode.GROUP_COMMIT);
+        Account account = Account.builder().id(1L).build();
+        Transaction bad = Transaction.builder()
+                .account(account).amount(100L).transactionId(1L).build();
+        Transaction good = Transaction.builder()
+                .account(account).amount(200L).transactionId(2L).build();
+        given(transactionRepository.saveAll(anyList()))
+                .willThrow(new DataIntegrityViolationException("duplicate"));
+        given(transactionRepository.save(bad))
+                .willThrow(new DataIntegrityViolationException("duplicate"));
+        given(transactionRepository.save(good)).willReturn(good);
+        ArgumentCaptor<LedgerDeadLetter> deadLetterCaptor =
+                ArgumentCaptor.forClass(LedgerDeadLetter.class);
+
+        // when
+        transactionLedgerWriter.write(bad);
+        transactionLedgerWriter.write(good);
+
+        // then
+        verify(transactionRepository, times(1)).save(bad);     // 재시도하지 않는다.
+        verify(transactionRepository, times(1)).save(good);
+        verify(ledgerDeadLetterRepository).save(deadLetterCaptor.capture());
+        assertEquals(1L, deadLetterCaptor.getValue().getTransactionId());
+        assertEquals(100L, deadLetterCaptor.getValue().getAmount());
+    }
+}
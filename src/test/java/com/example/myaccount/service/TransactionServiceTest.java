@@ -5,27 +5,39 @@ import com.example.myaccount.domain.AccountStatus;
 import com.example.myaccount.domain.AccountUser;
 import com.example.myaccount.domain.Transaction;
 import com.example.myaccount.dto.TransactionDto;
+import com.example.myaccount.dto.UseBalance;
+import com.example.myaccount.dto.UseBalanceBatch;
 import com.example.myaccount.exception.AccountException;
 import com.example.myaccount.repository.AccountRepository;
 import com.example.myaccount.repository.AccountUserRepository;
+import com.example.myaccount.repository.LedgerDeadLetterRepository;
 import com.example.myaccount.repository.TransactionRepository;
 import com.example.myaccount.type.ErrorCode;
+import com.example.myaccount.type.LedgerWriteMode;
+import com.example.myaccount.type.TransactionExecutionMode;
 import com.example.myaccount.type.TransactionResultType;
 import com.example.myaccount.type.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.time.Year;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -39,6 +51,18 @@ class TransactionServiceTest {
 
     @Mock
     private TransactionRepository transactionRepository;
+    @Mock
+    private TransactionLedgerWriter transactionLedgerWriter;
+    @Mock
+    private FailedTransactionRecorder failedTransactionRecorder;
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
+    @Mock
+    private LedgerDeadLetterRepository ledgerDeadLetterRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private TransactionService transactionService;  // 위에 모킹한 라이브러리 삽입
@@ -61,7 +85,7 @@ class TransactionServiceTest {
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account)
                 );
-        given(transactionRepository.save(any()))
+        given(transactionLedgerWriter.write(any()))
                 .willReturn(Transaction.builder()
                         .account(account)
                         .transactionType(TransactionType.USE)
@@ -77,13 +101,15 @@ class TransactionServiceTest {
                 userData.getId(), "111111111", 100L);
 
         // then
-        verify(transactionRepository, times(1))
-                .save(captor.capture());
+        verify(transactionLedgerWriter, times(1))
+                .write(captor.capture());
         assertEquals(100L, captor.getValue().getAmount());
         assertEquals(900L, captor.getValue().getBalanceSnapShot());
         assertEquals(TransactionType.USE, transactionDto.getTransactionType());
         assertEquals(TransactionResultType.S
                 , transactionDto.getTransactionResultType());
+        verify(accountBalanceCache, times(1))
+                .putBalanceAfterCommit(12345L, "1110000000", 900L);
     }
 
     @Test
@@ -180,6 +206,276 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
     }
 
+    @Test
+    void useBalances_실패한_건을_제외하고_한_계좌에서_차례로_차감한다() {
+        // given
+        AccountUser userData = AccountUser.builder()
+                .id(12345L).build();
+        Account account = Account.builder()
+                .accountNumber("1110000000")
+                .accountUser(userData)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .build();
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountUserRepository.findById(12345L))
+                .willReturn(Optional.of(userData));
+        given(accountUserRepository.findById(1L))
+                .willReturn(Optional.empty());
+        given(transactionLedgerWriter.write(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<UseBalanceBatch.Item> results = transactionService.useBalances(
+                "1110000000", Arrays.asList(
+                        new UseBalance.Request(12345L, "1110000000", 600L),
+                        new UseBalance.Request(1L, "1110000000", 100L),
+                        new UseBalance.Request(12345L, "1110000000", 600L),
+                        new UseBalance.Request(12345L, "1110000000", 300L)));
+
+        // then
+        verify(accountRepository, times(1)).findByAccountNumber(anyString());
+        verify(accountUserRepository, times(1)).findById(12345L);
+        verify(transactionLedgerWriter, times(2)).write(any());
+        assertEquals(TransactionResultType.S, results.get(0).getTransactionResultType());
+        assertEquals(ErrorCode.USER_NOT_FOUND, results.get(1).getErrorCode());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(2).getErrorCode());
+        assertEquals(TransactionResultType.S, results.get(3).getTransactionResultType());
+        assertEquals(100L, account.getBalance());
+    }
+
+    @Test
+    void useBalance_낙관적_모드는_조건부_UPDATE_로_차감한다() {
+        // given
+        ReflectionTestUtils.setField(transactionService, "executionMode",
+                TransactionExecutionMode.OPTIMISTIC);
+        AccountUser userData = AccountUser.builder()
+                .id(12345L).build();
+        Account account = Account.builder()
+                .id(1L)
+                .version(0L)
+                .accountNumber("1110000000")
+                .accountUser(userData)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(userData));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountRepository.debitBalance(1L, 0L, 100L, AccountStatus.IN_USE))
+                .willReturn(1);
+        given(transactionLedgerWriter.write(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Transaction> captor
+                = ArgumentCaptor.forClass(Transaction.class);
+
+        // when
+        transactionService.useBalance(12345L, "1110000000", 100L);
+
+        // then
+        verify(transactionLedgerWriter, times(1)).write(captor.capture());
+        assertEquals(900L, captor.getValue().getBalanceSnapShot());
+        verify(accountRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void useBalances_낙관적_모드는_차감마다_올라간_버전으로_다음_건을_차감한다() {
+        // given
+        ReflectionTestUtils.setField(transactionService, "executionMode",
+                TransactionExecutionMode.OPTIMISTIC);
+        AccountUser userData = AccountUser.builder()
+                .id(12345L).build();
+        Account account = Account.builder()
+                .id(1L)
+                .version(0L)
+                .accountNumber("1110000000")
+                .accountUser(userData)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .build();
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountUserRepository.findById(12345L))
+                .willReturn(Optional.of(userData));
+        given(accountRepository.debitBalance(1L, 0L, 100L, AccountStatus.IN_USE))
+                .willReturn(1);
+        given(accountRepository.debitBalance(1L, 1L, 200L, AccountStatus.IN_USE))
+                .willReturn(1);
+        given(transactionLedgerWriter.write(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<UseBalanceBatch.Item> results = transactionService.useBalances(
+                "1110000000", Arrays.asList(
+                        new UseBalance.Request(12345L, "1110000000", 100L),
+                        new UseBalance.Request(12345L, "1110000000", 200L)));
+
+        // then
+        assertEquals(TransactionResultType.S, results.get(0).getTransactionResultType());
+        assertEquals(TransactionResultType.S, results.get(1).getTransactionResultType());
+        assertEquals(700L, account.getBalance());
+        assertEquals(2L, account.getVersion());
+        verify(accountRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void useBalance_낙관적_모드는_버전_충돌시_다시_읽고_재시도한다() {
+        // given
+        ReflectionTestUtils.setField(transactionService, "executionMode",
+                TransactionExecutionMode.OPTIMISTIC);
+        AccountUser userData = AccountUser.builder()
+                .id(12345L).build();
+        Account stale = Account.builder()
+                .id(1L)
+                .version(0L)
+                .accountUser(userData)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .build();
+        Account fresh = Account.builder()
+                .id(1L)
+                .version(1L)
+                .accountUser(userData)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(500L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(userData));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(stale));
+        given(accountRepository.debitBalance(1L, 0L, 100L, AccountStatus.IN_USE))
+                .willReturn(0);
+        given(accountRepository.findById(1L))
+                .willReturn(Optional.of(fresh));
+        given(accountRepository.debitBalance(1L, 1L, 100L, AccountStatus.IN_USE))
+                .willReturn(1);
+        given(transactionLedgerWriter.write(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Transaction> captor
+                = ArgumentCaptor.forClass(Transaction.class);
+
+        // when
+        transactionService.useBalance(12345L, "1110000000", 100L);
+
+        // then
+        verify(transactionLedgerWriter, times(1)).write(captor.capture());
+        assertEquals(400L, captor.getValue().getBalanceSnapShot());
+    }
+
+    @Test
+    void useBalance_펜싱_토큰이_있으면_토큰_조건부_UPDATE_로_차감한다() {
+        // given
+        AccountUser userData = AccountUser.builder()
+                .id(12345L).build();
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1110000000")
+                .accountUser(userData)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(userData));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountRepository.debitBalanceFenced(1L, 7L, 100L, AccountStatus.IN_USE))
+                .willReturn(1);
+        given(transactionLedgerWriter.write(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Transaction> captor
+                = ArgumentCaptor.forClass(Transaction.class);
+        FencingTokenHolder.set("1110000000", 7L);
+
+        try {
+            // when
+            transactionService.useBalance(12345L, "1110000000", 100L);
+        } finally {
+            FencingTokenHolder.clear("1110000000");
+        }
+
+        // then
+        verify(transactionLedgerWriter, times(1)).write(captor.capture());
+        assertEquals(900L, captor.getValue().getBalanceSnapShot());
+    }
+
+    @Test
+    void useBalance_더_큰_펜싱_토큰이_먼저_반영됐으면_예외를_던진다() {
+        // given
+        AccountUser userData = AccountUser.builder()
+                .id(12345L).build();
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1110000000")
+                .accountUser(userData)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(userData));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountRepository.debitBalanceFenced(1L, 7L, 100L, AccountStatus.IN_USE))
+                .willReturn(0);
+        FencingTokenHolder.set("1110000000", 7L);
+
+        // when
+        AccountException exception;
+        try {
+            exception = assertThrows(AccountException.class,
+                    () -> transactionService.useBalance(12345L, "1110000000", 100L));
+        } finally {
+            FencingTokenHolder.clear("1110000000");
+        }
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_LOCK_EXPIRED, exception.getErrorCode());
+        verify(transactionLedgerWriter, never()).write(any());
+    }
+
+    @Test
+    void useBalance_낙관적_모드에서_재시도를_모두_실패하면_예외를_던진다() {
+        // given
+        ReflectionTestUtils.setField(transactionService, "executionMode",
+                TransactionExecutionMode.OPTIMISTIC);
+        ReflectionTestUtils.setField(transactionService, "optimisticMaxRetries", 2);
+        AccountUser userData = AccountUser.builder()
+                .id(12345L).build();
+        Account account = Account.builder()
+                .id(1L)
+                .version(0L)
+                .accountUser(userData)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(userData));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountRepository.findById(1L))
+                .willReturn(Optional.of(account));
+        given(accountRepository.debitBalance(any(), any(), anyLong(), any()))
+                .willReturn(0);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(12345L, "1110000000", 100L));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(accountRepository, times(2))
+                .debitBalance(any(), any(), anyLong(), any());
+        verify(transactionLedgerWriter, never()).write(any());
+    }
+
     @Test
     void cancelBalance_성공() {
         // given
@@ -187,6 +483,7 @@ class TransactionServiceTest {
                 .id(12345L).build();
 
         Account account = Account.builder()
+                .id(1L)
                 .accountNumber("1110000000")
                 .accountUser(userData)
                 .accountStatus(AccountStatus.IN_USE)
@@ -201,12 +498,11 @@ class TransactionServiceTest {
                 .transactionAt(LocalDateTime.now())
                 .build();
 
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account)
-                );
+        given(accountRepository.findIdByAccountNumber(anyString()))
+                .willReturn(Optional.of(1L));
         given(transactionRepository.findByTransactionId(any()))
                 .willReturn(Optional.of(transaction));
-        given(transactionRepository.save(any()))
+        given(transactionLedgerWriter.writeNow(any()))
                 .willReturn(transaction);
         ArgumentCaptor<Transaction> captor
                 = ArgumentCaptor.forClass(Transaction.class);
@@ -214,14 +510,16 @@ class TransactionServiceTest {
 
         // when
         TransactionDto transactionDto = transactionService.cancelBalance(
-                "transactionId", "111111111",
+                "0000000000000001", "111111111",
                 100L);
 
         // then
-        verify(transactionRepository, times(1))
-                .save(captor.capture());
+        verify(transactionLedgerWriter, times(1))
+                .writeNow(captor.capture());
         assertEquals(100L, captor.getValue().getAmount());
         assertEquals(1100L, captor.getValue().getBalanceSnapShot());
+        assertEquals(1L, captor.getValue().getOriginalTransactionId());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
         assertEquals(TransactionType.CANCEL, transactionDto.getTransactionType());
         assertEquals(TransactionResultType.S
                 , transactionDto.getTransactionResultType());
@@ -232,12 +530,12 @@ class TransactionServiceTest {
         // given
         given(transactionRepository.findByTransactionId(any()))
                 .willReturn(Optional.of(new Transaction()));
-        given(accountRepository.findByAccountNumber(anyString()))
+        given(accountRepository.findIdByAccountNumber(anyString()))
                 .willReturn(Optional.empty());
 
         // when
         AccountException exception = assertThrows(AccountException.class
-                , () -> transactionService.cancelBalance("tId",
+                , () -> transactionService.cancelBalance("0000000000000abc",
                         "1110", 1000L));
 
         // then
@@ -252,7 +550,7 @@ class TransactionServiceTest {
 
         // when
         AccountException exception = assertThrows(AccountException.class
-                , () -> transactionService.cancelBalance("tId",
+                , () -> transactionService.cancelBalance("0000000000000abc",
                         "1110", 1000L));
 
         // then
@@ -274,12 +572,12 @@ class TransactionServiceTest {
                 .willReturn(Optional.of(Transaction.builder()
                         .account(oneAccount)
                         .build()));
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(otherAccount));
+        given(accountRepository.findIdByAccountNumber(anyString()))
+                .willReturn(Optional.of(otherAccount.getId()));
 
         // when
         AccountException exception = assertThrows(AccountException.class
-                , () -> transactionService.cancelBalance("tId",
+                , () -> transactionService.cancelBalance("0000000000000abc",
                         "1110", 1000L));
 
         // then
@@ -292,6 +590,7 @@ class TransactionServiceTest {
         AccountUser userData = AccountUser.builder()
                 .id(12345L).build();
         Account account = Account.builder()
+                .id(1L)
                 .accountNumber("1110000000")
                 .accountUser(userData)
                 .accountStatus(AccountStatus.IN_USE)
@@ -306,15 +605,14 @@ class TransactionServiceTest {
                 .transactionAt(LocalDateTime.now())
                 .build();
 
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account)
-                );
+        given(accountRepository.findIdByAccountNumber(anyString()))
+                .willReturn(Optional.of(1L));
         given(transactionRepository.findByTransactionId(any()))
                 .willReturn(Optional.of(transaction));
 
         // when
         AccountException exception = assertThrows(AccountException.class
-                , () -> transactionService.cancelBalance("tId",
+                , () -> transactionService.cancelBalance("0000000000000abc",
                         "1110", 1000L));
 
         // then
@@ -327,6 +625,7 @@ class TransactionServiceTest {
         AccountUser userData = AccountUser.builder()
                 .id(12345L).build();
         Account account = Account.builder()
+                .id(1L)
                 .accountNumber("1110000000")
                 .accountUser(userData)
                 .accountStatus(AccountStatus.IN_USE)
@@ -341,15 +640,14 @@ class TransactionServiceTest {
                 .transactionAt(LocalDateTime.now().minusYears(1))
                 .build();
 
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account)
-                );
+        given(accountRepository.findIdByAccountNumber(anyString()))
+                .willReturn(Optional.of(1L));
         given(transactionRepository.findByTransactionId(any()))
                 .willReturn(Optional.of(transaction));
 
         // when
         AccountException exception = assertThrows(AccountException.class
-                , () -> transactionService.cancelBalance("tId",
+                , () -> transactionService.cancelBalance("0000000000000abc",
                         "1110", 100L));
 
         // then
@@ -357,31 +655,144 @@ class TransactionServiceTest {
     }
 
     @Test
-    public void queryTransaction_성공() {
+    void cancelBalance_이미_취소된_거래() {
         // given
+        AccountUser userData = AccountUser.builder()
+                .id(12345L).build();
         Account account = Account.builder()
+                .id(1L)
                 .accountNumber("1110000000")
-                .accountUser(new AccountUser())
+                .accountUser(userData)
                 .accountStatus(AccountStatus.IN_USE)
                 .balance(1000L)
                 .build();
         Transaction transaction = Transaction.builder()
                 .account(account)
-                .transactionType(TransactionType.CANCEL)
+                .transactionType(TransactionType.USE)
                 .transactionResultType(TransactionResultType.S)
                 .amount(100L)
                 .balanceSnapShot(900L)
-                .transactionAt(LocalDateTime.now().minusYears(1))
+                .transactionAt(LocalDateTime.now())
                 .build();
+
+        given(accountRepository.findIdByAccountNumber(anyString()))
+                .willReturn(Optional.of(1L));
         given(transactionRepository.findByTransactionId(any()))
                 .willReturn(Optional.of(transaction));
+        given(transactionRepository.existsByOriginalTransactionId(0xabcL))
+                .willReturn(true);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class
+                , () -> transactionService.cancelBalance("0000000000000abc",
+                        "1110000000", 100L));
+
+        // then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELED, exception.getErrorCode());
+        assertEquals(1000L, account.getBalance());
+        verify(transactionLedgerWriter, never()).writeNow(any());
+    }
+
+    @Test
+    void cancelBalance_WRITE_BEHIND_모드에서도_두_번째_취소는_이미_취소된_거래로_실패한다() {
+        // given
+        TransactionLedgerWriter writeBehindWriter = new TransactionLedgerWriter(
+                transactionRepository, ledgerDeadLetterRepository, transactionManager,
+                new SimpleMeterRegistry(), LedgerWriteMode.WRITE_BEHIND,
+                10, 1000, 1000, 5000, 3, 1);
+        writeBehindWriter.start();
+        TransactionService service = new TransactionService(transactionRepository,
+                accountUserRepository, accountRepository, writeBehindWriter,
+                failedTransactionRecorder, transactionIdGenerator, accountBalanceCache);
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1110000000")
+                .accountUser(AccountUser.builder().id(12345L).build())
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(900L)
+                .build();
+        Transaction use = Transaction.builder()
+                .account(account)
+                .transactionType(TransactionType.USE)
+                .transactionResultType(TransactionResultType.S)
+                .amount(100L)
+                .balanceSnapShot(900L)
+                .transactionAt(LocalDateTime.now())
+                .build();
+        List<Long> canceled = new CopyOnWriteArrayList<>();
+        given(accountRepository.findIdByAccountNumber(anyString()))
+                .willReturn(Optional.of(1L));
+        given(transactionRepository.findByTransactionId(0xabcL))
+                .willReturn(Optional.of(use));
+        given(transactionRepository.existsByOriginalTransactionId(0xabcL))
+                .willAnswer(invocation -> canceled.contains(0xabcL));
+        given(transactionRepository.saveAndFlush(any()))
+                .willAnswer(invocation -> {
+                    Transaction saved = invocation.getArgument(0);
+                    canceled.add(saved.getOriginalTransactionId());
+                    return saved;
+                });
+
+        try {
+            // when
+            service.cancelBalance("0000000000000abc", "1110000000", 100L);
+            AccountException exception = assertThrows(AccountException.class,
+                    () -> service.cancelBalance("0000000000000abc", "1110000000", 100L));
+
+            // then
+            assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELED, exception.getErrorCode());
+            assertEquals(1000L, account.getBalance());
+            verify(transactionRepository, never()).saveAll(any());
+        } finally {
+            writeBehindWriter.stop();
+        }
+    }
 
+    @Test
+    void saveFailedTransaction_계좌를_조회하지_않고_기록기에_넘긴다() {
+        // given
         // when
-        TransactionDto transactionDto = transactionService.queryTransaction("tId");
+        transactionService.saveFailedTransaction(TransactionType.USE,
+                "1000000000", 100L);
+
+        // then
+        verify(failedTransactionRecorder, times(1))
+                .record(TransactionType.USE, "1000000000", 100L);
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    public void queryTransaction_성공() {
+        // given
+        given(transactionRepository.findDtoByTransactionId(0xabcL))
+                .willReturn(Optional.of(TransactionDto.builder()
+                        .accountNumber("1110000000")
+                        .transactionType(TransactionType.CANCEL)
+                        .transactionResultType(TransactionResultType.S)
+                        .amount(100L)
+                        .balanceSnapShot(900L)
+                        .transactionId("0000000000000abc")
+                        .transactionAt(LocalDateTime.now().minusYears(1))
+                        .build()));
+
+        // when
+        TransactionDto transactionDto = transactionService.queryTransaction("0000000000000abc");
 
         // then
         assertEquals(TransactionType.CANCEL, transactionDto.getTransactionType());
         assertEquals(TransactionResultType.S, transactionDto.getTransactionResultType());
         assertEquals(100L, transactionDto.getAmount());
     }
-}
\ No newline at end of file
+
+    @Test
+    void queryTransaction_형식이_맞지_않는_거래_id_는_거래_정보_없음() {
+        // given
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.queryTransaction("c2033bb6d82a4250aecf8e27c49b63f6"));
+
+        // then
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
+        verify(transactionRepository, never()).findDtoByTransactionId(any());
+    }
+}